@@ -0,0 +1,59 @@
+// /running/update 부하 테스트 (k6). 같은 조건에서 플랫폼 스레드와 가상 스레드 모드의 처리량을 비교한다.
+//
+//   1) 테스트용 사용자들을 러닝방에 참가시켜 recordId 를 받아 둔다.
+//   2) 서버를 한 번은 SPRING_THREADS_VIRTUAL_ENABLED=false, 한 번은 true 로 띄우고 각각 실행한다.
+//      k6 run -e BASE_URL=http://localhost:8080 -e USERS=a@x.com:pw:12,b@x.com:pw:13 loadtest/running-update.js
+//   3) 두 결과의 http_reqs(초당 요청 수)와 http_req_duration p(95)를 비교한다.
+//
+// 커넥션 풀(spring.datasource.hikari.maximum-pool-size)은 두 모드에서 같게 둔다. 가상 스레드 모드에서는 풀이 동시 DB 작업 수의 상한이 된다.
+// 실제 MySQL 없이 서버 안에서 같은 비교를 하려면 gradle loadTest (RunningUpdateLoadTest, 인메모리 H2) 를 쓴다.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = (__ENV.USERS || '').split(',').filter(Boolean).map((user) => {
+  const [email, password, recordId] = user.split(':');
+  return { email, password, recordId: Number(recordId) };
+});
+
+export const options = {
+  scenarios: {
+    running: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: Number(__ENV.VUS || 400) },
+        { duration: __ENV.DURATION || '2m', target: Number(__ENV.VUS || 400) },
+        { duration: '10s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+let loggedIn = false;
+let distance = 0;
+
+export default function () {
+  const user = USERS[(__VU - 1) % USERS.length];
+  const params = { headers: { 'Content-Type': 'application/json' } };
+
+  // 세션 쿠키는 VU 마다 유지된다
+  if (!loggedIn) {
+    const login = http.post(`${BASE_URL}/user/login`,
+      JSON.stringify({ userEmail: user.email, userPassword: user.password }), params);
+    check(login, { 'login 200': (r) => r.status === 200 });
+    loggedIn = true;
+  }
+
+  distance += 5;
+  const res = http.post(`${BASE_URL}/running/update`, JSON.stringify({
+    recordId: user.recordId,
+    runningTime: `PT${Math.floor(distance / 3)}S`,
+    calories: Math.floor(distance / 20),
+    distance,
+  }), params);
+  check(res, { 'update 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,53 @@
+package RunningMate.backend.config;
+
+import RunningMate.backend.domain.authorization.session.HttpSessionEntryRepository;
+import RunningMate.backend.domain.authorization.session.StoredSessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.web.http.CookieSerializer;
+import org.springframework.session.web.http.DefaultCookieSerializer;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+// running.session.store=jdbc 면 DB 에 세션을 저장해 재시작해도 유지하고, memory 면 서버 메모리에만 둔다(로컬 개발용)
+// 서버는 한 대만 띄운다 (SingleInstanceGuard)
+@Configuration
+@EnableSpringHttpSession
+public class SessionConfig {
+    @Value("${server.servlet.session.timeout:30m}")
+    private Duration sessionTimeout;
+
+    @Bean
+    @ConditionalOnProperty(name = "running.session.store", havingValue = "jdbc", matchIfMissing = true)
+    public StoredSessionRepository sessionRepository(HttpSessionEntryRepository entryRepository, TransactionTemplate transactionTemplate,
+                                                     @Value("${running.session.touch-interval:10m}") Duration touchInterval,
+                                                     @Value("${running.session.near-cache-size:10000}") int nearCacheSize,
+                                                     @Value("${running.session.near-cache-ttl:30s}") Duration nearCacheTtl) {
+        return new StoredSessionRepository(entryRepository, transactionTemplate, sessionTimeout, touchInterval, nearCacheSize, nearCacheTtl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "running.session.store", havingValue = "memory")
+    public MapSessionRepository memorySessionRepository() {
+        MapSessionRepository repository = new MapSessionRepository(new ConcurrentHashMap<String, Session>());
+        repository.setDefaultMaxInactiveInterval(sessionTimeout);
+        return repository;
+    }
+
+    // 기존 JSESSIONID 쿠키를 그대로 쓰고, 다른 도메인의 앱에서 보내는 요청에도 쿠키가 실리도록 SameSite 는 지정하지 않는다
+    @Bean
+    public CookieSerializer cookieSerializer() {
+        DefaultCookieSerializer serializer = new DefaultCookieSerializer();
+        serializer.setCookieName("JSESSIONID");
+        serializer.setUseBase64Encoding(false);
+        serializer.setSameSite(null);
+        return serializer;
+    }
+}
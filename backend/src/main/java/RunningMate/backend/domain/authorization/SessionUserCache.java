@@ -0,0 +1,57 @@
+package RunningMate.backend.domain.authorization;
+
+import RunningMate.backend.domain.user.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// 세션의 userId 로 찾은 사용자를 잠깐 들고 있는 LRU 캐시. 요청마다 사용자 조회 쿼리가 나가지 않도록 한다.
+// 캐시된 User 는 준영속 상태이므로 지연 로딩 컬렉션(postList 등)은 쓰지 말고 repository 로 조회한다.
+@Component
+public class SessionUserCache {
+    private final long ttlMillis;
+    private final Map<Long, Entry> users;
+
+    private record Entry(User user, long expiresAt) {
+    }
+
+    public SessionUserCache(@Value("${session.user-cache.max-size:10000}") int maxSize,
+                            @Value("${session.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public Optional<User> get(Long userId, Function<Long, Optional<User>> loader) {
+        long now = System.currentTimeMillis();
+        synchronized (users) {
+            Entry entry = users.get(userId);
+            if (entry != null && entry.expiresAt > now)
+                return Optional.of(entry.user);
+        }
+
+        // 조회는 잠금 밖에서
+        Optional<User> user = loader.apply(userId);
+        user.ifPresent(found -> {
+            synchronized (users) {
+                users.put(userId, new Entry(found, now + ttlMillis));
+            }
+        });
+        return user;
+    }
+
+    public void evict(Long userId) {
+        synchronized (users) {
+            users.remove(userId);
+        }
+    }
+}
@@ -12,9 +12,12 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class SessionUtils {
     private final UserRepository userRepository;
+    private final SessionUserCache sessionUserCache;
+
     public Optional<User> getUserFromSession(HttpSession session) {
         Object userId = session.getAttribute("userId");
-        Optional<User> user = userRepository.findUserByUserId((Long) userId);
-        return user;
+        if (userId == null)
+            return Optional.empty();
+        return sessionUserCache.get((Long) userId, userRepository::findUserByUserId);
     }
 }
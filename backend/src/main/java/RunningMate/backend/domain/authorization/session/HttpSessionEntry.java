@@ -0,0 +1,36 @@
+package RunningMate.backend.domain.authorization.session;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// DB 에 저장되는 HTTP 세션. 로그인 정보(userId)는 컬럼으로, 그 외 속성은 있을 때만 직렬화해서 저장한다.
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_http_session_entry_expiry_time", columnList = "expiryTime"))
+public class HttpSessionEntry {
+    @Id
+    @Column(length = 64)
+    private String sessionId;
+
+    private Long userId;
+
+    @Lob
+    private byte[] attributes;
+
+    @Column(nullable = false)
+    private Instant creationTime;
+
+    @Column(nullable = false)
+    private Instant lastAccessedTime;
+
+    @Column(nullable = false)
+    private Long maxInactiveSeconds;
+
+    @Column(nullable = false)
+    private Instant expiryTime;
+}
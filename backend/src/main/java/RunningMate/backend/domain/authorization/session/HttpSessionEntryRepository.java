@@ -0,0 +1,16 @@
+package RunningMate.backend.domain.authorization.session;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface HttpSessionEntryRepository extends JpaRepository<HttpSessionEntry, String> {
+    @Transactional
+    @Modifying
+    @Query("delete from HttpSessionEntry s where s.expiryTime < :now")
+    int deleteAllExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,199 @@
+package RunningMate.backend.domain.authorization.session;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSession;
+import org.springframework.session.SessionRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// 여러 서버가 같은 세션을 보도록 DB(HttpSessionEntry)에 세션을 저장하고, 서버마다 잠깐 메모리에 들고 있는다(near-cache).
+// 세션은 로그인/로그아웃 때만 바뀌므로 마지막 접근 시각은 touchInterval 이 지났을 때만 다시 저장한다.
+// 다른 서버에서 로그아웃한 세션은 near-cache TTL 동안은 이 서버에 남아 있을 수 있다.
+@Slf4j
+public class StoredSessionRepository implements SessionRepository<MapSession> {
+    static final String USER_ID_ATTRIBUTE = "userId";
+
+    private final HttpSessionEntryRepository entryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration maxInactiveInterval;
+    private final Duration touchInterval;
+    private final long nearCacheTtlMillis;
+    private final Map<String, Cached> nearCache;
+
+    // stored : 마지막으로 DB 에 저장한 상태
+    private record Cached(MapSession session, HttpSessionEntry stored, long expiresAt) {
+    }
+
+    public StoredSessionRepository(HttpSessionEntryRepository entryRepository, TransactionTemplate transactionTemplate,
+                                   Duration maxInactiveInterval, Duration touchInterval,
+                                   int nearCacheSize, Duration nearCacheTtl) {
+        this.entryRepository = entryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxInactiveInterval = maxInactiveInterval;
+        this.touchInterval = touchInterval;
+        this.nearCacheTtlMillis = nearCacheTtl.toMillis();
+        this.nearCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > nearCacheSize;
+            }
+        };
+    }
+
+    @Override
+    public MapSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(maxInactiveInterval);
+        return session;
+    }
+
+    @Override
+    public void save(MapSession session) {
+        HttpSessionEntry stored = null;
+        Cached cached = getCached(session.getOriginalId());
+        if (cached != null)
+            stored = cached.stored;
+
+        // 로그인 시 세션 id 가 바뀌면 이전 id 는 지운다
+        if (!session.getId().equals(session.getOriginalId())) {
+            deleteById(session.getOriginalId());
+            stored = null;
+        }
+
+        HttpSessionEntry entry = toEntry(session);
+        if (stored == null || changed(stored, entry)) {
+            transactionTemplate.executeWithoutResult(status -> entryRepository.save(entry));
+            stored = entry;
+        }
+        putCached(new MapSession(session), stored);
+    }
+
+    @Override
+    public MapSession findById(String id) {
+        Cached cached = getCached(id);
+        if (cached != null && System.currentTimeMillis() < cached.expiresAt) {
+            if (cached.session.isExpired()) {
+                deleteById(id);
+                return null;
+            }
+            return new MapSession(cached.session);
+        }
+
+        HttpSessionEntry entry = entryRepository.findById(id).orElse(null);
+        if (entry == null) {
+            removeCached(id);
+            return null;
+        }
+
+        MapSession session = toSession(entry);
+        if (session.isExpired()) {
+            deleteById(id);
+            return null;
+        }
+        putCached(session, entry);
+        return new MapSession(session);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        removeCached(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (entryRepository.existsById(id))
+                entryRepository.deleteById(id);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${running.session.cleanup-interval:600000}")
+    public void deleteExpiredSessions() {
+        int deleted = entryRepository.deleteAllExpired(Instant.now());
+        if (deleted > 0)
+            log.debug("만료된 세션 {}건 삭제", deleted);
+    }
+
+    private boolean changed(HttpSessionEntry stored, HttpSessionEntry entry) {
+        return !Objects.equals(stored.getUserId(), entry.getUserId())
+                || !Arrays.equals(stored.getAttributes(), entry.getAttributes())
+                || !stored.getMaxInactiveSeconds().equals(entry.getMaxInactiveSeconds())
+                || Duration.between(stored.getLastAccessedTime(), entry.getLastAccessedTime()).compareTo(touchInterval) >= 0;
+    }
+
+    private HttpSessionEntry toEntry(MapSession session) {
+        Map<String, Object> attributes = new HashMap<>();
+        for (String name : session.getAttributeNames())
+            attributes.put(name, session.getAttribute(name));
+        Object userId = attributes.remove(USER_ID_ATTRIBUTE);
+
+        return HttpSessionEntry.builder()
+                .sessionId(session.getId())
+                .userId((Long) userId)
+                .attributes(attributes.isEmpty() ? null : serialize(attributes))
+                .creationTime(session.getCreationTime())
+                .lastAccessedTime(session.getLastAccessedTime())
+                .maxInactiveSeconds(session.getMaxInactiveInterval().getSeconds())
+                .expiryTime(session.getLastAccessedTime().plus(session.getMaxInactiveInterval()))
+                .build();
+    }
+
+    private MapSession toSession(HttpSessionEntry entry) {
+        MapSession session = new MapSession(entry.getSessionId());
+        session.setCreationTime(entry.getCreationTime());
+        session.setLastAccessedTime(entry.getLastAccessedTime());
+        session.setMaxInactiveInterval(Duration.ofSeconds(entry.getMaxInactiveSeconds()));
+        if (entry.getUserId() != null)
+            session.setAttribute(USER_ID_ATTRIBUTE, entry.getUserId());
+        if (entry.getAttributes() != null)
+            deserialize(entry.getAttributes()).forEach(session::setAttribute);
+        return session;
+    }
+
+    private byte[] serialize(Map<String, Object> attributes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(attributes);
+        } catch (IOException e) {
+            throw new IllegalStateException("세션 속성을 저장할 수 없습니다.", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> deserialize(byte[] attributes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(attributes))) {
+            return (Map<String, Object>) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            log.warn("세션 속성을 읽을 수 없어 무시합니다 : {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private Cached getCached(String id) {
+        synchronized (nearCache) {
+            return nearCache.get(id);
+        }
+    }
+
+    private void putCached(MapSession session, HttpSessionEntry stored) {
+        synchronized (nearCache) {
+            nearCache.put(session.getId(), new Cached(session, stored, System.currentTimeMillis() + nearCacheTtlMillis));
+        }
+    }
+
+    private void removeCached(String id) {
+        synchronized (nearCache) {
+            nearCache.remove(id);
+        }
+    }
+}
@@ -37,7 +37,9 @@ public class CommunityController {
             "    \"postTitle\": \"테스트 제목\",\n" +
             "    \"postTag\": true,\n" +
             "    \"postContent\": \"테스트 내용입니다.\"\n" +
-            "}")
+            "}\n" +
+            "이미지가 있으면 글은 PROCESSING 상태로 먼저 등록되고, 이미지 업로드가 끝나면 PUBLISHED(실패하면 FAILED)가 된다. " +
+            "상태는 /community/post/{postId}/status 로 확인한다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "글 등록 성공"),
             @ApiResponse(responseCode = "400", description = "글 등록 실패")
@@ -55,13 +57,27 @@ public class CommunityController {
             if (post == null) {
                 return ResponseEntity.badRequest().body("글 등록에 실패하였습니다.");
             } else {
-                return ResponseEntity.ok(post.getPostId() + post.getPostTitle() + post.getPostContent() + post.getPostImageList() + post.getUser());
+                return ResponseEntity.ok(post.getPostId() + post.getPostTitle() + post.getPostContent() + post.getPostImageList() + post.getUser() + post.getStatus());
             }
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    @GetMapping("/post/{postId}/status")
+    @Operation(summary = "게시글 등록 상태 확인", description = "이미지 업로드가 끝났는지 확인한다. PROCESSING, PUBLISHED, FAILED 중 하나를 돌려준다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없음")
+    })
+    public ResponseEntity<?> getPostStatus(@PathVariable("postId") Long postId) {
+        try {
+            return ResponseEntity.ok(communityService.getPostStatus(postId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/post/get/{postId}/running-spot")
     @Operation(summary = "메인 페이지를 통한 러닝 스팟 게시글 확인", description = "메인 페이지를 통해 러닝 스팟 공유 게시글을 확인한다.")
     @ApiResponses({
@@ -95,34 +111,48 @@ public class CommunityController {
     }
 
     @GetMapping("/post/get/running-spot")
-    @Operation(summary = "러닝 스팟 공유 게시글 확인", description = "커뮤니티 탭에서 러닝 스팟 공유 게시글을 확인한다.")
+    @Operation(summary = "러닝 스팟 공유 게시글 확인", description = "커뮤니티 탭에서 러닝 스팟 공유 게시글을 확인한다. " +
+            "sort(LATEST, POPULAR) 순으로 size 개씩 조회하며, 다음 페이지는 이전 페이지 마지막 글의 postId 와 postDate(LATEST) 또는 likeCount(POPULAR)를 " +
+            "lastPostId, lastPostDate, lastLikeCount 로 넘긴다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "조회 성공"),
-            @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없음")
+            @ApiResponse(responseCode = "204", description = "더 이상 게시글이 없음"),
+            @ApiResponse(responseCode = "400", description = "잘못된 페이지 요청")
     })
-    public ResponseEntity<?> getRunningSpotPosts(HttpSession session) {
-        Optional<User> optionalUser = sessionUtils.getUserFromSession(session);
-        List<CommunityDTO.PostViewResponse> posts = communityService.viewRunningSpotPost(optionalUser);
-        if (posts.isEmpty()) {
-            return ResponseEntity.noContent().build();
-        } else {
-            return ResponseEntity.ok(posts);
+    public ResponseEntity<?> getRunningSpotPosts(@ModelAttribute CommunityDTO.PostCursor cursor, HttpSession session) {
+        try {
+            Optional<User> optionalUser = sessionUtils.getUserFromSession(session);
+            List<CommunityDTO.PostViewResponse> posts = communityService.viewRunningSpotPost(cursor, optionalUser);
+            if (posts.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            } else {
+                return ResponseEntity.ok(posts);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @GetMapping("/post/get/exercise-proof")
-    @Operation(summary = "운동 인증 게시글 확인", description = "커뮤니티 탭에서 운동 인증 게시글을 확인한다.")
+    @Operation(summary = "운동 인증 게시글 확인", description = "커뮤니티 탭에서 운동 인증 게시글을 확인한다. " +
+            "sort(LATEST, POPULAR) 순으로 size 개씩 조회하며, 다음 페이지는 이전 페이지 마지막 글의 postId 와 postDate(LATEST) 또는 likeCount(POPULAR)를 " +
+            "lastPostId, lastPostDate, lastLikeCount 로 넘긴다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "조회 성공"),
-            @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없음")
+            @ApiResponse(responseCode = "204", description = "더 이상 게시글이 없음"),
+            @ApiResponse(responseCode = "400", description = "잘못된 페이지 요청")
     })
-    public ResponseEntity<?> getExerciseProofPosts(HttpSession session) {
-        Optional<User> optionalUser = sessionUtils.getUserFromSession(session);
-        List<CommunityDTO.PostViewResponse> posts = communityService.viewExerciseProofPost(optionalUser);
-        if (posts.isEmpty()) {
-            return ResponseEntity.noContent().build();
-        } else {
-            return ResponseEntity.ok(posts);
+    public ResponseEntity<?> getExerciseProofPosts(@ModelAttribute CommunityDTO.PostCursor cursor, HttpSession session) {
+        try {
+            Optional<User> optionalUser = sessionUtils.getUserFromSession(session);
+            List<CommunityDTO.PostViewResponse> posts = communityService.viewExerciseProofPost(cursor, optionalUser);
+            if (posts.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            } else {
+                return ResponseEntity.ok(posts);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
 import java.util.Date;
@@ -22,6 +24,26 @@ public class CommunityDTO {
         private String postContent;
     }
 
+    // 이전 페이지의 마지막 게시글 값(lastPostId 와 정렬 기준 값). 비어 있으면 첫 페이지
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class PostCursor {
+        public static final int DEFAULT_SIZE = 15;
+        public static final int MAX_SIZE = 50;
+
+        private PostSort sort = PostSort.LATEST;
+        private Long lastPostId;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime lastPostDate;
+        private Long lastLikeCount;
+        private int size = DEFAULT_SIZE;
+
+        public boolean isFirstPage() {
+            return lastPostId == null;
+        }
+    }
+
     @Builder
     @Getter
     @NoArgsConstructor
@@ -37,7 +59,8 @@ public class CommunityDTO {
         private String postContent;
         private Boolean postTag;
         private LocalDateTime postDate;
-        private List<String> postImages;
+        private List<String> postImages; // 목록용으로 줄인 이미지 (없으면 원본)
+        private List<String> postOriginalImages;
     }
 
     @Builder
@@ -51,14 +74,16 @@ public class CommunityDTO {
         private String postTitle;
         private Boolean postTag;
         private LocalDateTime postDate;
+        private String thumbnailURL; // 첫 번째 이미지의 썸네일, 이미지가 없으면 null
 
-        public MainPagePostResponse(Post post) {
+        public MainPagePostResponse(Post post, String thumbnailURL) {
             this.postId = post.getPostId();
             this.postTitle = post.getPostTitle();
             this.likeCount = post.getLikeCount();
             this.userNickname = post.getUser().getUserNickname();
             this.postDate = post.getPostDate();
             this.postTag = post.getPostTag();
+            this.thumbnailURL = thumbnailURL;
         }
     }
 
@@ -0,0 +1,7 @@
+package RunningMate.backend.domain.community.dto;
+
+// 커뮤니티 목록 정렬. 같은 값이면 postId 가 큰(나중에 쓴) 글이 먼저 온다.
+public enum PostSort {
+    LATEST,
+    POPULAR
+}
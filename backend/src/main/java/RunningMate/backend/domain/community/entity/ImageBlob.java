@@ -0,0 +1,68 @@
+package RunningMate.backend.domain.community.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+// S3 에 올라간 이미지 한 벌(원본 + 줄인 이미지). 내용의 SHA-256 으로 찾고, 이 이미지를 쓰는 PostImage 수를 센다.
+// referenceCount 가 0 이 되면 행과 S3 객체를 지운다.
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class ImageBlob implements Persistable<String> {
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private String imageURL;
+
+    @Column(nullable = false)
+    private String imageKey;
+
+    private String thumbnailURL;
+
+    private String thumbnailKey;
+
+    private String mediumURL;
+
+    private String mediumKey;
+
+    @Column(nullable = false)
+    private Long referenceCount;
+
+    // 같은 해시를 동시에 처음 올리면 save 가 덮어쓰지 않고 키 중복으로 실패하도록 항상 insert 한다
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return contentHash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public PostImage toPostImage() {
+        return PostImage.builder()
+                .contentHash(contentHash)
+                .imageURL(imageURL)
+                .imageKey(imageKey)
+                .thumbnailURL(thumbnailURL)
+                .thumbnailKey(thumbnailKey)
+                .mediumURL(mediumURL)
+                .mediumKey(mediumKey)
+                .build();
+    }
+}
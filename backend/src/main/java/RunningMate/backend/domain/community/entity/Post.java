@@ -3,6 +3,7 @@ package RunningMate.backend.domain.community.entity;
 import RunningMate.backend.domain.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
@@ -16,6 +17,9 @@ import java.util.List;
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_post_status_tag_date", columnList = "status, postTag, postDate, postId"),
+        @Index(name = "idx_post_status_tag_like", columnList = "status, postTag, likeCount, postId")})
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -41,6 +45,13 @@ public class Post {
     @Column(nullable = false)
     private LocalDateTime postDate;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @ColumnDefault("'PUBLISHED'")
+    @Builder.Default
+    @Setter
+    private PostStatus status = PostStatus.PUBLISHED;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="userId")
     private User user;
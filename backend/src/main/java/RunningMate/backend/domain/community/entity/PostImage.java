@@ -19,9 +19,29 @@ public class PostImage {
     @Column(nullable = false)
     private String imageKey;
 
+    // 같은 내용의 이미지는 ImageBlob 하나를 같이 쓴다. 중복 제거 전에 올린 이미지는 null
+    @Column(length = 64)
+    private String contentHash;
+
+    // 줄인 이미지. 원본이 작거나 줄일 수 없으면 null 이고 원본을 쓴다
+    private String thumbnailURL;
+
+    private String thumbnailKey;
+
+    private String mediumURL;
+
+    private String mediumKey;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="postId")
     @Setter
     private Post post;
 
+    public String getThumbnailURLOrOriginal() {
+        return thumbnailURL != null ? thumbnailURL : imageURL;
+    }
+
+    public String getMediumURLOrOriginal() {
+        return mediumURL != null ? mediumURL : imageURL;
+    }
 }
@@ -0,0 +1,8 @@
+package RunningMate.backend.domain.community.entity;
+
+// 이미지가 S3 에 다 올라가기 전까지는 PROCESSING 이고 목록에 보이지 않는다
+public enum PostStatus {
+    PROCESSING,
+    PUBLISHED,
+    FAILED
+}
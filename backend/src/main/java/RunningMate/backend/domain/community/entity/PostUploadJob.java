@@ -0,0 +1,46 @@
+package RunningMate.backend.domain.community.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 게시글 이미지 업로드 작업. 이미지는 작업을 받은 서버(nodeId)의 stagingDir 에 있으므로 그 서버만 처리한다.
+// 끝나면(게시 또는 실패 처리) 행을 지운다. 그 서버가 사라져 오래 남은 작업은 PostUploadQueue.sweepOrphans 가 정리한다.
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_post_upload_job_node_status", columnList = "nodeId, status, nextAttemptAt"),
+        @Index(name = "idx_post_upload_job_created", columnList = "createdAt")})
+public class PostUploadJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private Long postId;
+
+    @Column(nullable = false, length = 64)
+    private String nodeId;
+
+    @Column(nullable = false)
+    private String stagingDir;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PostUploadJobStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private String lastError;
+}
@@ -0,0 +1,6 @@
+package RunningMate.backend.domain.community.entity;
+
+public enum PostUploadJobStatus {
+    PENDING,
+    RUNNING
+}
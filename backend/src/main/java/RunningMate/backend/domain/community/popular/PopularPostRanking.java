@@ -0,0 +1,122 @@
+package RunningMate.backend.domain.community.popular;
+
+import RunningMate.backend.domain.community.entity.Post;
+import RunningMate.backend.domain.community.entity.PostStatus;
+import RunningMate.backend.domain.community.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// postTag 별 좋아요 상위 capacity 개 게시글 id. 인기순 목록을 볼 때마다 likeCount 정렬 쿼리가 나가지 않도록 메모리에 들고 있는다.
+// 좋아요/작성/삭제 때 바로 반영하고, 다른 서버에서 바뀐 값은 주기적으로 DB 와 맞춘다.
+@Component
+public class PopularPostRanking {
+    private final PostRepository postRepository;
+    private final int capacity;
+    private final Ranking runningSpot = new Ranking();
+    private final Ranking exerciseProof = new Ranking();
+
+    // 좋아요 수 내림차순, 같으면 나중에 쓴 글(postId 가 큰 글)이 먼저
+    private record Entry(Long postId, long likeCount) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::likeCount).reversed()
+            .thenComparing(Entry::postId, Comparator.reverseOrder());
+
+    private class Ranking {
+        private final TreeSet<Entry> entries = new TreeSet<>(ORDER);
+        private final Map<Long, Entry> byPostId = new HashMap<>();
+        private final ReentrantLock loadLock = new ReentrantLock(); // DB 조회 중 가상 스레드가 캐리어 스레드에 묶이지 않도록 synchronized 대신 사용
+        private volatile boolean loaded;
+
+        synchronized List<Long> top(int count) {
+            return entries.stream().limit(count).map(Entry::postId).toList();
+        }
+
+        synchronized void update(Long postId, long likeCount) {
+            Entry previous = byPostId.remove(postId);
+            if (previous != null)
+                entries.remove(previous);
+
+            Entry entry = new Entry(postId, likeCount);
+            if (entries.size() >= capacity && ORDER.compare(entry, entries.last()) > 0)
+                return;
+            entries.add(entry);
+            byPostId.put(postId, entry);
+            if (entries.size() > capacity)
+                byPostId.remove(entries.pollLast().postId());
+        }
+
+        // 빠진 자리는 다음 reload 때 채워진다
+        synchronized void remove(Long postId) {
+            Entry entry = byPostId.remove(postId);
+            if (entry != null)
+                entries.remove(entry);
+        }
+
+        synchronized void replace(List<Post> posts) {
+            entries.clear();
+            byPostId.clear();
+            posts.forEach(post -> {
+                Entry entry = new Entry(post.getPostId(), post.getLikeCount());
+                entries.add(entry);
+                byPostId.put(entry.postId(), entry);
+            });
+            loaded = true;
+        }
+    }
+
+    public PopularPostRanking(PostRepository postRepository,
+                              @Value("${community.popular.capacity:50}") int capacity) {
+        this.postRepository = postRepository;
+        this.capacity = capacity;
+    }
+
+    // 좋아요 상위 count 개 게시글 id (인기순)
+    public List<Long> top(Boolean postTag, int count) {
+        Ranking ranking = rankingOf(postTag);
+        if (!ranking.loaded) {
+            ranking.loadLock.lock();
+            try {
+                if (!ranking.loaded)
+                    reload(postTag);
+            } finally {
+                ranking.loadLock.unlock();
+            }
+        }
+        return ranking.top(count);
+    }
+
+    // 아직 이미지를 올리는 중(PROCESSING)이거나 실패한 글은 순위에 넣지 않는다
+    public void update(Post post) {
+        if (post.getStatus() != PostStatus.PUBLISHED)
+            return;
+        rankingOf(post.getPostTag()).update(post.getPostId(), post.getLikeCount());
+    }
+
+    public void remove(Post post) {
+        rankingOf(post.getPostTag()).remove(post.getPostId());
+    }
+
+    @Scheduled(fixedDelayString = "${community.popular.reload-interval:60000}")
+    public void reloadAll() {
+        reload(true);
+        reload(false);
+    }
+
+    private void reload(Boolean postTag) {
+        rankingOf(postTag).replace(postRepository.findPopular(postTag, Limit.of(capacity)));
+    }
+
+    private Ranking rankingOf(Boolean postTag) {
+        return postTag ? runningSpot : exerciseProof;
+    }
+}
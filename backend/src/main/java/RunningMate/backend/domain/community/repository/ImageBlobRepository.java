@@ -0,0 +1,27 @@
+package RunningMate.backend.domain.community.repository;
+
+import RunningMate.backend.domain.community.entity.ImageBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+    // 지워지는 중(referenceCount = 0)인 이미지는 다시 쓰지 않는다. 반영된 행이 없으면 새로 올려야 한다
+    @Transactional
+    @Modifying
+    @Query("update ImageBlob b set b.referenceCount = b.referenceCount + :count where b.contentHash = :contentHash and b.referenceCount > 0")
+    int increaseReferenceCount(@Param("contentHash") String contentHash, @Param("count") long count);
+
+    @Transactional
+    @Modifying
+    @Query("update ImageBlob b set b.referenceCount = b.referenceCount - 1 where b.contentHash = :contentHash and b.referenceCount > 0")
+    int decreaseReferenceCount(@Param("contentHash") String contentHash);
+
+    // 마지막 참조가 빠진 이미지를 지운다. 지운 행이 있을 때만 S3 객체를 지운다
+    @Transactional
+    @Modifying
+    @Query("delete from ImageBlob b where b.contentHash = :contentHash and b.referenceCount = 0")
+    int deleteIfUnreferenced(@Param("contentHash") String contentHash);
+}
@@ -2,6 +2,14 @@ package RunningMate.backend.domain.community.repository;
 
 import RunningMate.backend.domain.community.entity.PostImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface PostImageRepository extends JpaRepository<PostImage, Long> {
+    // 한 페이지에 보이는 게시글들의 이미지를 한 번에 조회
+    @Query("select pi from PostImage pi where pi.post.postId in :postIds order by pi.imageId asc")
+    List<PostImage> findAllByPostIdIn(@Param("postIds") Collection<Long> postIds);
 }
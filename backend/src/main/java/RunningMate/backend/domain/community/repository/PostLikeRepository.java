@@ -4,7 +4,16 @@ import RunningMate.backend.domain.user.entity.User;
 import RunningMate.backend.domain.community.entity.Post;
 import RunningMate.backend.domain.community.entity.PostLike;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Set;
 
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     boolean existsByUserAndPost(User user, Post post);
+
+    // postIds 중 userId 가 좋아요를 누른 게시글 id
+    @Query("select pl.post.postId from PostLike pl where pl.user.userId = :userId and pl.post.postId in :postIds")
+    Set<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
 }
@@ -1,15 +1,49 @@
 package RunningMate.backend.domain.community.repository;
 
 import RunningMate.backend.domain.community.entity.Post;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+// 목록 조회는 작성자(user)를 같이 가져와 게시글마다 사용자 조회 쿼리가 나가지 않도록 한다
 public interface PostRepository extends JpaRepository<Post, Long> {
-    List<Post> findTop14ByPostTagTrueOrderByLikeCountDesc();
-    List<Post> findTop14ByPostTagFalseOrderByLikeCountDesc();
-    List<Post> findTop2ByPostTagTrueOrderByLikeCountDesc();
-    List<Post> findTop2ByPostTagFalseOrderByLikeCountDesc();
-    List<Post> findTop15ByPostTagTrueOrderByPostDateDesc();
-    List<Post> findTop15ByPostTagFalseOrderByPostDateDesc();
+    String PUBLISHED = "RunningMate.backend.domain.community.entity.PostStatus.PUBLISHED";
+
+    // 인기순 목록/클릭한 글 조회용. 아직 게시되지 않은(PROCESSING, FAILED) 글은 빠진다
+    @EntityGraph(attributePaths = "user")
+    @Query("select p from Post p where p.status = " + PUBLISHED + " and p.postId in :postIds")
+    List<Post> findPublishedByPostIdIn(@Param("postIds") Collection<Long> postIds);
+    List<Post> findAllByUserUserId(Long userId);
+
+    // 커서 페이지네이션 : 이전 페이지 마지막 글 다음부터 limit 개. 게시된(PUBLISHED) 글만 보여 준다
+    // (status, postTag, postDate, postId) / (status, postTag, likeCount, postId) 인덱스 사용
+    @EntityGraph(attributePaths = "user")
+    @Query("select p from Post p where p.status = " + PUBLISHED + " and p.postTag = :postTag " +
+            "order by p.postDate desc, p.postId desc")
+    List<Post> findLatest(@Param("postTag") Boolean postTag, Limit limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select p from Post p where p.status = " + PUBLISHED + " and p.postTag = :postTag " +
+            "and (p.postDate < :lastPostDate or (p.postDate = :lastPostDate and p.postId < :lastPostId)) " +
+            "order by p.postDate desc, p.postId desc")
+    List<Post> findLatestAfter(@Param("postTag") Boolean postTag, @Param("lastPostDate") LocalDateTime lastPostDate,
+                               @Param("lastPostId") Long lastPostId, Limit limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select p from Post p where p.status = " + PUBLISHED + " and p.postTag = :postTag " +
+            "order by p.likeCount desc, p.postId desc")
+    List<Post> findPopular(@Param("postTag") Boolean postTag, Limit limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select p from Post p where p.status = " + PUBLISHED + " and p.postTag = :postTag " +
+            "and (p.likeCount < :lastLikeCount or (p.likeCount = :lastLikeCount and p.postId < :lastPostId)) " +
+            "order by p.likeCount desc, p.postId desc")
+    List<Post> findPopularAfter(@Param("postTag") Boolean postTag, @Param("lastLikeCount") Long lastLikeCount,
+                                @Param("lastPostId") Long lastPostId, Limit limit);
 }
@@ -0,0 +1,50 @@
+package RunningMate.backend.domain.community.repository;
+
+import RunningMate.backend.domain.community.entity.PostUploadJob;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PostUploadJobRepository extends JpaRepository<PostUploadJob, Long> {
+    @Query("select j.jobId from PostUploadJob j where j.nodeId = :nodeId " +
+            "and j.status = RunningMate.backend.domain.community.entity.PostUploadJobStatus.PENDING " +
+            "and j.nextAttemptAt <= :now order by j.nextAttemptAt")
+    List<Long> findDueJobIds(@Param("nodeId") String nodeId, @Param("now") LocalDateTime now, Limit limit);
+
+    @Query("select j from PostUploadJob j where j.createdAt < :before order by j.createdAt")
+    List<PostUploadJob> findCreatedBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    // 여러 서버가 같은 작업을 정리하지 않도록 지운 행이 있을 때만 처리한다
+    @Transactional
+    @Modifying
+    @Query("delete from PostUploadJob j where j.jobId = :jobId")
+    int deleteByJobId(@Param("jobId") Long jobId);
+
+    // 대기 중인 작업을 하나의 워커만 가져가도록 상태를 바꾼다. 반영된 행이 없으면 이미 다른 워커가 가져간 것
+    @Transactional
+    @Modifying
+    @Query("update PostUploadJob j set j.status = RunningMate.backend.domain.community.entity.PostUploadJobStatus.RUNNING, " +
+            "j.attempts = j.attempts + 1 where j.jobId = :jobId " +
+            "and j.status = RunningMate.backend.domain.community.entity.PostUploadJobStatus.PENDING")
+    int claim(@Param("jobId") Long jobId);
+
+    @Transactional
+    @Modifying
+    @Query("update PostUploadJob j set j.status = RunningMate.backend.domain.community.entity.PostUploadJobStatus.PENDING, " +
+            "j.nextAttemptAt = :nextAttemptAt, j.lastError = :lastError where j.jobId = :jobId")
+    int retryLater(@Param("jobId") Long jobId, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    // 서버가 작업 도중 내려갔으면 RUNNING 으로 남은 작업을 다시 대기시킨다
+    @Transactional
+    @Modifying
+    @Query("update PostUploadJob j set j.status = RunningMate.backend.domain.community.entity.PostUploadJobStatus.PENDING " +
+            "where j.nodeId = :nodeId and j.status = RunningMate.backend.domain.community.entity.PostUploadJobStatus.RUNNING")
+    int releaseRunning(@Param("nodeId") String nodeId);
+}
@@ -0,0 +1,97 @@
+package RunningMate.backend.domain.community.s3;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 업로드한 이미지를 ImageVariant 너비로 줄여 JPEG 로 다시 압축한다. CPU 를 쓰는 작업이라 따로 정한 스레드 수 안에서만 돌린다.
+// 원본이 이미 그 너비보다 작거나 읽을 수 없는 형식(HEIC 등)이면 그 크기는 만들지 않고 원본을 쓴다.
+@Slf4j
+@Component
+public class ImageResizer {
+    private final ExecutorService workers;
+    private final float quality;
+
+    public ImageResizer(@Value("${community.upload.resize-threads:2}") int resizeThreads,
+                        @Value("${community.upload.jpeg-quality:0.8}") float quality) {
+        this.workers = Executors.newFixedThreadPool(resizeThreads);
+        this.quality = quality;
+    }
+
+    public CompletableFuture<Map<ImageVariant, byte[]>> resizeAsync(MultipartFile image) {
+        return CompletableFuture.supplyAsync(() -> resize(image), workers);
+    }
+
+    Map<ImageVariant, byte[]> resize(MultipartFile image) {
+        Map<ImageVariant, byte[]> variants = new EnumMap<>(ImageVariant.class);
+        try (InputStream in = image.getInputStream()) {
+            BufferedImage original = ImageIO.read(in);
+            if (original == null)
+                return variants;
+
+            for (ImageVariant variant : ImageVariant.values()) {
+                if (original.getWidth() > variant.getWidth())
+                    variants.put(variant, toJpeg(scale(original, variant.getWidth())));
+            }
+        } catch (IOException e) {
+            log.warn("이미지 크기를 줄이지 못해 원본을 씁니다 : {}", image.getOriginalFilename(), e);
+            variants.clear();
+        }
+        return variants;
+    }
+
+    private BufferedImage scale(BufferedImage original, int width) {
+        int height = Math.max(1, Math.round((float) original.getHeight() * width / original.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB); // JPEG 는 투명도가 없다
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] toJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
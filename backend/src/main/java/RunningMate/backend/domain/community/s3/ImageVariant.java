@@ -0,0 +1,22 @@
+package RunningMate.backend.domain.community.s3;
+
+// 게시글 이미지를 줄여서 따로 올리는 크기. THUMBNAIL 은 메인 페이지 카드, MEDIUM 은 커뮤니티 목록에서 쓴다.
+public enum ImageVariant {
+    THUMBNAIL(320),
+    MEDIUM(1080);
+
+    private final int width;
+
+    ImageVariant(int width) {
+        this.width = width;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    // 원본 키 앞에 크기 이름을 붙인다 (thumbnail/{원본 키}.jpg)
+    public String keyOf(String originalKey) {
+        return name().toLowerCase() + "/" + originalKey + ".jpg";
+    }
+}
@@ -2,12 +2,18 @@ package RunningMate.backend.domain.community.s3;
 
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
-
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.Executors;
+
 @Configuration
 public class S3Config {
 
@@ -17,14 +23,36 @@ public class S3Config {
     private String secretKey;
     @Value("${cloud.aws.region.static}")
     private String region;
+    @Value("${cloud.aws.s3.endpoint:}") // 로컬에서 MinIO 같은 S3 호환 서버를 쓸 때만 지정
+    private String endpoint;
 
     @Bean
     public AmazonS3Client s3Client() {
         BasicAWSCredentials awsCredentials = new BasicAWSCredentials(accessKey, secretKey);
 
-        return (AmazonS3Client) AmazonS3Client.builder()
-                .withRegion(region)
-                .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
+        AmazonS3ClientBuilder builder = AmazonS3Client.builder()
+                .withCredentials(new AWSStaticCredentialsProvider(awsCredentials));
+        if (endpoint.isBlank())
+            builder.withRegion(region);
+        else
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                    .withPathStyleAccessEnabled(true);
+        return (AmazonS3Client) builder.build();
+    }
+
+    // 이미지 업로드용. 파일들을 동시에 올리고, multipartThreshold 보다 큰 파일은 나눠서 올린다.
+    // 가상 스레드 모드에서는 PUT 마다 가상 스레드를 쓰고, 동시 요청 수는 S3 클라이언트의 커넥션 수(기본 50)로 제한된다.
+    @Bean(destroyMethod = "shutdownNow")
+    public TransferManager transferManager(AmazonS3 amazonS3,
+                                           @Value("${community.upload.threads:8}") int uploadThreads,
+                                           @Value("${community.upload.multipart-threshold:16777216}") long multipartThreshold,
+                                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        return TransferManagerBuilder.standard()
+                .withS3Client(amazonS3)
+                .withExecutorFactory(() -> virtualThreads
+                        ? Executors.newVirtualThreadPerTaskExecutor()
+                        : Executors.newFixedThreadPool(uploadThreads))
+                .withMultipartUploadThreshold(multipartThreshold)
                 .build();
     }
-}
\ No newline at end of file
+}
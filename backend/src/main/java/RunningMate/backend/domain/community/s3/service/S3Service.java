@@ -1,51 +1,245 @@
 package RunningMate.backend.domain.community.s3.service;
 
+import RunningMate.backend.domain.community.entity.ImageBlob;
 import RunningMate.backend.domain.community.entity.PostImage;
-import RunningMate.backend.domain.community.repository.PostImageRepository;
+import RunningMate.backend.domain.community.repository.ImageBlobRepository;
+import RunningMate.backend.domain.community.s3.ImageResizer;
+import RunningMate.backend.domain.community.s3.ImageVariant;
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.Upload;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.URL;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
+// 이미지를 내용(SHA-256) 기준으로 S3 에 한 번만 올린다. 이미 올라간 이미지는 ImageBlob 의 참조 수만 늘려 다시 쓰고,
+// 처음 보는 이미지는 원본과 줄인 이미지(ImageVariant)를 동시에 올린다.
+// 객체 키는 해시 뒤에 임의의 값을 붙여 ImageBlob 마다 다르게 한다. 지워지는 중인 같은 이미지를 다시 올려도 그 삭제에 휩쓸리지 않는다.
+// PostImage 는 저장하지 않고 돌려주며, 게시글을 저장할 때 같이 저장된다(cascade).
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class S3Service {
+    private static final int REGISTER_RETRIES = 3;
+
     private final AmazonS3 amazonS3;
-    private final PostImageRepository imageRepository;
+    private final TransferManager transferManager;
+    private final ImageResizer imageResizer;
+    private final ImageBlobRepository imageBlobRepository;
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
 
+    // 이번 요청에서 새로 올리는 이미지. 같은 요청에 같은 이미지가 여러 장이면 references 만 늘린다
+    private static class NewBlob {
+        private final String contentHash;
+        private final String key;
+        private final CompletableFuture<Map<ImageVariant, byte[]>> resized;
+        private final List<Integer> indexes = new ArrayList<>();
+        private ImageBlob blob;
+
+        private NewBlob(String contentHash, String key, CompletableFuture<Map<ImageVariant, byte[]>> resized) {
+            this.contentHash = contentHash;
+            this.key = key;
+            this.resized = resized;
+        }
+    }
+
     public List<PostImage> uploadFile(List<MultipartFile> images) {
+        PostImage[] postImages = new PostImage[images.size()];
+        List<PostImage> reused = new ArrayList<>();
+        Map<String, NewBlob> newBlobs = new LinkedHashMap<>();
+        List<String> keys = new ArrayList<>();
+        List<Upload> uploads = new ArrayList<>();
         try {
-            List<PostImage> postImages = new ArrayList<>();
-            for (MultipartFile image : images) {
-                String fileName = image.getOriginalFilename();
-                ObjectMetadata metadata = new ObjectMetadata();
-                metadata.setContentType(image.getContentType());
-                metadata.setContentLength(image.getSize());
-
-                String key = (imageRepository.count()+1) + fileName; // id + file name을 키로 가짐 (file name 같은 경우 방지)
-                URL url = amazonS3.getUrl(bucket, key);
-                PostImage postImage = PostImage.builder()
-                        .imageURL(url.toString())
-                        .imageKey(key)
-                        .build();
-
-                amazonS3.putObject(bucket, key, image.getInputStream(), metadata);
-                imageRepository.save(postImage);
-                postImages.add(postImage);
+            // 원본을 모두 시작해 두고, 줄인 이미지가 준비되는 대로 이어서 올린 뒤 한꺼번에 기다린다
+            for (int i = 0; i < images.size(); i++) {
+                MultipartFile image = images.get(i);
+                String contentHash = hash(image);
+
+                NewBlob pending = newBlobs.get(contentHash);
+                if (pending != null) {
+                    pending.indexes.add(i);
+                    continue;
+                }
+
+                if (imageBlobRepository.increaseReferenceCount(contentHash, 1) == 1) {
+                    ImageBlob blob = imageBlobRepository.findById(contentHash)
+                            .orElseThrow(() -> new IllegalStateException("이미지 정보를 찾을 수 없습니다."));
+                    postImages[i] = blob.toPostImage();
+                    reused.add(postImages[i]);
+                    continue;
+                }
+
+                NewBlob newBlob = new NewBlob(contentHash,
+                        contentHash + "-" + UUID.randomUUID() + extensionOf(image.getOriginalFilename()),
+                        imageResizer.resizeAsync(image));
+                newBlob.indexes.add(i);
+                newBlobs.put(contentHash, newBlob);
+                upload(newBlob.key, image.getInputStream(), image.getSize(), image.getContentType(), keys, uploads);
+            }
+
+            for (NewBlob newBlob : newBlobs.values()) {
+                ImageBlob.ImageBlobBuilder blob = ImageBlob.builder()
+                        .contentHash(newBlob.contentHash)
+                        .imageURL(urlOf(newBlob.key))
+                        .imageKey(newBlob.key)
+                        .referenceCount((long) newBlob.indexes.size());
+
+                for (Map.Entry<ImageVariant, byte[]> variant : newBlob.resized.join().entrySet()) {
+                    String variantKey = variant.getKey().keyOf(newBlob.key);
+                    byte[] bytes = variant.getValue();
+                    upload(variantKey, new ByteArrayInputStream(bytes), bytes.length, "image/jpeg", keys, uploads);
+                    switch (variant.getKey()) {
+                        case THUMBNAIL -> blob.thumbnailKey(variantKey).thumbnailURL(urlOf(variantKey));
+                        case MEDIUM -> blob.mediumKey(variantKey).mediumURL(urlOf(variantKey));
+                    }
+                }
+                newBlob.blob = blob.build();
+            }
+
+            for (Upload upload : uploads)
+                upload.waitForCompletion();
+        } catch (IOException | AmazonClientException | CompletionException e) {
+            rollback(reused, keys, uploads);
+            throw new IllegalStateException("이미지를 업로드할 수 없습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rollback(reused, keys, uploads);
+            throw new IllegalStateException("이미지 업로드가 중단되었습니다.", e);
+        }
+
+        List<PostImage> registered = new ArrayList<>(reused);
+        List<NewBlob> blobs = new ArrayList<>(newBlobs.values());
+        int done = 0;
+        try {
+            for (; done < blobs.size(); done++) {
+                NewBlob newBlob = blobs.get(done);
+                ImageBlob blob = register(newBlob.blob);
+                if (!blob.getImageKey().equals(newBlob.key))
+                    deleteObjects(newBlob.blob.toPostImage()); // 같은 이미지를 다른 요청이 먼저 등록했으면 이번에 올린 객체는 쓰지 않는다
+                for (Integer index : newBlob.indexes) {
+                    postImages[index] = blob.toPostImage();
+                    registered.add(postImages[index]);
+                }
+            }
+        } catch (RuntimeException e) {
+            deleteFiles(registered);
+            blobs.subList(done, blobs.size()).forEach(newBlob -> deleteObjects(newBlob.blob.toPostImage()));
+            throw new IllegalStateException("이미지 정보를 저장할 수 없습니다.", e);
+        }
+        return new ArrayList<>(List.of(postImages));
+    }
+
+    // 게시글이 지워질 때 호출. 마지막 참조가 빠진 이미지와 중복 제거 전에 올린 이미지만 S3 에서 지운다
+    public void deleteFiles(List<PostImage> postImages) {
+        Map<String, PostImage> byHash = new LinkedHashMap<>();
+        for (PostImage postImage : postImages) {
+            if (postImage.getContentHash() == null)
+                deleteObjects(postImage);
+            else if (byHash.putIfAbsent(postImage.getContentHash(), postImage) != null)
+                imageBlobRepository.decreaseReferenceCount(postImage.getContentHash());
+        }
+
+        byHash.forEach((contentHash, postImage) -> {
+            imageBlobRepository.decreaseReferenceCount(contentHash);
+            if (imageBlobRepository.deleteIfUnreferenced(contentHash) == 1)
+                deleteObjects(postImage);
+        });
+    }
+
+    // 같은 이미지를 다른 요청이 먼저 등록했으면 그 ImageBlob 의 참조 수를 늘린다.
+    // 참조 수가 0 이라 지워지는 중인 행이면 대신 지우고 다시 저장한다. 행을 지운 쪽(deleteIfUnreferenced == 1)이 그 S3 객체를 지운다
+    private ImageBlob register(ImageBlob blob) {
+        for (int attempt = 0; attempt < REGISTER_RETRIES; attempt++) {
+            try {
+                return imageBlobRepository.save(blob);
+            } catch (DataIntegrityViolationException e) {
+                if (imageBlobRepository.increaseReferenceCount(blob.getContentHash(), blob.getReferenceCount()) == 1)
+                    return imageBlobRepository.findById(blob.getContentHash())
+                            .orElseThrow(() -> new IllegalStateException("이미지 정보를 찾을 수 없습니다."));
+
+                imageBlobRepository.findById(blob.getContentHash()).ifPresent(unreferenced -> {
+                    if (imageBlobRepository.deleteIfUnreferenced(unreferenced.getContentHash()) == 1)
+                        deleteObjects(unreferenced.toPostImage());
+                });
             }
-            return postImages;
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
+        }
+        throw new IllegalStateException("이미지 정보를 저장할 수 없습니다.");
+    }
+
+    private void upload(String key, InputStream in, long size, String contentType, List<String> keys, List<Upload> uploads) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setContentLength(size);
+        keys.add(key);
+        uploads.add(transferManager.upload(bucket, key, in, metadata));
+    }
+
+    private String urlOf(String key) {
+        return amazonS3.getUrl(bucket, key).toString();
+    }
+
+    private String hash(MultipartFile image) throws IOException {
+        try (DigestInputStream in = new DigestInputStream(image.getInputStream(), MessageDigest.getInstance("SHA-256"))) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String extensionOf(String fileName) {
+        if (fileName == null || fileName.lastIndexOf('.') < 0)
+            return "";
+        String extension = fileName.substring(fileName.lastIndexOf('.')).toLowerCase();
+        return extension.matches("\\.[a-z0-9]{1,5}") ? extension : "";
+    }
+
+    // 하나라도 실패하면 늘린 참조 수를 되돌리고 이미 올라간 이미지는 지운다
+    private void rollback(List<PostImage> reused, List<String> keys, List<Upload> uploads) {
+        deleteFiles(reused);
+        for (int i = 0; i < uploads.size(); i++) {
+            uploads.get(i).abort();
+            try {
+                amazonS3.deleteObject(bucket, keys.get(i));
+            } catch (AmazonClientException e) {
+                log.warn("업로드를 취소한 이미지를 지우지 못했습니다 : {}", keys.get(i), e);
+            }
+        }
+    }
+
+    private void deleteObjects(PostImage postImage) {
+        String[] keys = Stream.of(postImage.getImageKey(), postImage.getThumbnailKey(), postImage.getMediumKey())
+                .filter(Objects::nonNull)
+                .toArray(String[]::new);
+        try {
+            amazonS3.deleteObjects(new DeleteObjectsRequest(bucket).withKeys(keys));
+        } catch (AmazonClientException e) {
+            log.warn("게시글 이미지를 지우지 못했습니다 : {}", postImage.getImageKey(), e);
         }
     }
 }
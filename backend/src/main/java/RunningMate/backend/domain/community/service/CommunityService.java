@@ -4,7 +4,9 @@ import RunningMate.backend.domain.user.entity.User;
 import RunningMate.backend.domain.community.dto.CommunityDTO;
 import RunningMate.backend.domain.community.entity.Comment;
 import RunningMate.backend.domain.community.entity.Post;
+import RunningMate.backend.domain.community.entity.PostImage;
 import RunningMate.backend.domain.community.entity.PostLike;
+import RunningMate.backend.domain.community.entity.PostStatus;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -13,12 +15,18 @@ import java.util.Optional;
 public interface CommunityService {
     Post uploadPost(CommunityDTO.PostUploadRequest request, List<MultipartFile> images, Optional<User> user);
 
+    boolean publishPost(Long postId, List<PostImage> postImages);
+
+    void failPost(Long postId);
+
+    PostStatus getPostStatus(Long postId);
+
     List<CommunityDTO.PostViewResponse> viewRunningSpotPost(Long postId, Optional<User> user);
     List<CommunityDTO.PostViewResponse> viewExerciseProofPost(Long postId, Optional<User> user);
 
-    List<CommunityDTO.PostViewResponse> viewRunningSpotPost(Optional<User> user);
+    List<CommunityDTO.PostViewResponse> viewRunningSpotPost(CommunityDTO.PostCursor cursor, Optional<User> user);
 
-    List<CommunityDTO.PostViewResponse> viewExerciseProofPost(Optional<User> user);
+    List<CommunityDTO.PostViewResponse> viewExerciseProofPost(CommunityDTO.PostCursor cursor, Optional<User> user);
 
     List<CommunityDTO.MainPagePostResponse> getMainPagePost();
 
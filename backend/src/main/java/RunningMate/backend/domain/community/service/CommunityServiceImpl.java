@@ -2,112 +2,168 @@ package RunningMate.backend.domain.community.service;
 
 import RunningMate.backend.domain.user.entity.User;
 import RunningMate.backend.domain.community.dto.CommunityDTO;
+import RunningMate.backend.domain.community.dto.PostSort;
 import RunningMate.backend.domain.community.entity.Comment;
 import RunningMate.backend.domain.community.entity.Post;
 import RunningMate.backend.domain.community.entity.PostImage;
 import RunningMate.backend.domain.community.entity.PostLike;
+import RunningMate.backend.domain.community.entity.PostStatus;
+import RunningMate.backend.domain.community.popular.PopularPostRanking;
 import RunningMate.backend.domain.community.repository.CommentRepository;
 import RunningMate.backend.domain.community.repository.PostImageRepository;
 import RunningMate.backend.domain.community.repository.PostLikeRepository;
 import RunningMate.backend.domain.community.repository.PostRepository;
 import RunningMate.backend.domain.community.s3.service.S3Service;
+import RunningMate.backend.domain.community.upload.PostUploadQueue;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import RunningMate.backend.domain.mainpage.MainPageChangedEvent;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.time.LocalDateTime;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CommunityServiceImpl implements CommunityService{
+    private static final int POPULAR_POST_COUNT = 14;
+    private static final int MAIN_PAGE_POST_COUNT = 2;
+
     private final PostRepository postRepository;
     private final PostImageRepository postImageRepository;
     private final CommentRepository commentRepository;
     private final PostLikeRepository likeRepository;
     private final S3Service s3Service;
+    private final PostUploadQueue postUploadQueue;
+    private final PopularPostRanking popularPostRanking;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
     @Override
     public Post uploadPost(CommunityDTO.PostUploadRequest request,
                            List<MultipartFile> images, Optional<User> user) {
         if(user.isEmpty())
             throw new IllegalArgumentException("로그인이 필요한 서비스입니다.");
 
-        String postTitle = request.getPostTitle();
-        String postContent = request.getPostContent();
-        List<PostImage> postImages = s3Service.uploadFile(images);
-        Boolean postTag = request.getPostTag();
+        // 이미지는 디스크에 옮겨 두고 게시글을 PROCESSING 으로 먼저 저장한다. S3 업로드는 PostUploadQueue 가 끝낸 뒤 publishPost 로 게시한다
+        Path stagingDir = images.isEmpty() ? null : stage(images);
 
-        Post post = Post.builder().postTitle(postTitle)
+        Post post = Post.builder().postTitle(request.getPostTitle())
                     .user(user.get())
-                    .postContent(postContent)
-                    .postImageList(postImages)
-                    .postTag(postTag)
+                    .postContent(request.getPostContent())
+                    .postImageList(new ArrayList<>())
+                    .postTag(request.getPostTag())
                     .likeCount(0L)
                     .commentCount(0L)
                     .postDate(LocalDateTime.now())
+                    .status(stagingDir == null ? PostStatus.PUBLISHED : PostStatus.PROCESSING)
                     .build();
 
-        postImages.forEach(postImage -> postImage.setPost(post));
-        return postRepository.save(post);
-    }
+        // 게시글과 업로드 작업을 한 트랜잭션으로 저장해 작업 없이 PROCESSING 으로 남는 글이 없게 한다
+        Post savedPost;
+        try {
+            savedPost = transactionTemplate.execute(status -> {
+                Post saved = postRepository.save(post);
+                if (stagingDir != null)
+                    postUploadQueue.enqueue(saved.getPostId(), stagingDir);
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            if (stagingDir != null)
+                postUploadQueue.discard(stagingDir);
+            throw e;
+        }
 
-    @Override
-    public List<CommunityDTO.PostViewResponse> viewRunningSpotPost(Long postId, Optional<User> user) { // 메인페이지 -> 커뮤니티 넘어가는 경우
-        List<CommunityDTO.PostViewResponse> postViewResponses = new ArrayList<>();
-        postRepository.findById(postId).ifPresent(post -> postViewResponses.add(convertToDTO(post, user)));
+        if (stagingDir == null)
+            updateRanking(savedPost, popularPostRanking::update);
+        return savedPost;
+    }
 
-        List<Post> posts = postRepository.findTop14ByPostTagTrueOrderByLikeCountDesc();
+    private Path stage(List<MultipartFile> images) {
+        try {
+            return postUploadQueue.stage(images);
+        } catch (IOException e) {
+            throw new IllegalStateException("이미지를 저장할 수 없습니다.", e);
+        }
+    }
 
-        posts.stream()
-                .filter(post -> !post.getPostId().equals(postId))
-                .map(post -> convertToDTO(post, user))
-                .forEach(postViewResponses::add);
+    // 이미지 업로드가 끝난 게시글을 목록에 보이게 한다. 그 사이 지워졌으면 false
+    @Override
+    @Transactional
+    public boolean publishPost(Long postId, List<PostImage> postImages) {
+        Post post = postRepository.findById(postId).orElse(null);
+        if (post == null || post.getStatus() != PostStatus.PROCESSING)
+            return false;
 
-        return postViewResponses;
+        postImages.forEach(postImage -> postImage.setPost(post));
+        post.getPostImageList().addAll(postImages);
+        post.setStatus(PostStatus.PUBLISHED);
+        updateRanking(post, popularPostRanking::update);
+        return true;
     }
 
     @Override
-    public List<CommunityDTO.PostViewResponse> viewExerciseProofPost(Long postId, Optional<User> user) {
-        List<CommunityDTO.PostViewResponse> postViewResponses = new ArrayList<>();
-        postRepository.findById(postId).ifPresent(post -> postViewResponses.add(convertToDTO(post, user)));
+    @Transactional
+    public void failPost(Long postId) {
+        postRepository.findById(postId)
+                .filter(post -> post.getStatus() == PostStatus.PROCESSING)
+                .ifPresent(post -> post.setStatus(PostStatus.FAILED));
+    }
 
-        List<Post> posts = postRepository.findTop14ByPostTagFalseOrderByLikeCountDesc();
+    @Override
+    public PostStatus getPostStatus(Long postId) {
+        return postRepository.findById(postId)
+                .map(Post::getStatus)
+                .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다."));
+    }
 
-        posts.stream()
-                .filter(post -> !post.getPostId().equals(postId))
-                .map(post -> convertToDTO(post, user))
-                .forEach(postViewResponses::add);
+    @Override
+    public List<CommunityDTO.PostViewResponse> viewRunningSpotPost(Long postId, Optional<User> user) { // 메인페이지 -> 커뮤니티 넘어가는 경우
+        return convertToDTOs(findClickedAndPopular(postId, true), user);
+    }
 
-        return postViewResponses;
+    @Override
+    public List<CommunityDTO.PostViewResponse> viewExerciseProofPost(Long postId, Optional<User> user) {
+        return convertToDTOs(findClickedAndPopular(postId, false), user);
     }
 
     @Override
-    public List<CommunityDTO.PostViewResponse> viewRunningSpotPost(Optional<User> user) {
-        List<Post> posts = postRepository.findTop15ByPostTagTrueOrderByPostDateDesc();
+    public List<CommunityDTO.PostViewResponse> viewRunningSpotPost(CommunityDTO.PostCursor cursor, Optional<User> user) {
+        List<Post> posts = findPage(true, cursor);
 
-        return posts.stream()
-                .map(post -> convertToDTO(post, user))
-                .toList();
+        return convertToDTOs(posts, user);
     }
 
     @Override
-    public List<CommunityDTO.PostViewResponse> viewExerciseProofPost(Optional<User> user) {
-        List<Post> posts = postRepository.findTop15ByPostTagFalseOrderByPostDateDesc();
+    public List<CommunityDTO.PostViewResponse> viewExerciseProofPost(CommunityDTO.PostCursor cursor, Optional<User> user) {
+        List<Post> posts = findPage(false, cursor);
 
-        return posts.stream()
-                .map(post -> convertToDTO(post, user))
-                .toList();
+        return convertToDTOs(posts, user);
     }
 
     public List<CommunityDTO.MainPagePostResponse> getMainPagePost() {
-        List<Post> runningSpotPosts = postRepository.findTop2ByPostTagTrueOrderByLikeCountDesc();
-        List<Post> runningCertificationPosts = postRepository.findTop2ByPostTagFalseOrderByLikeCountDesc();
+        List<Long> postIds = Stream.concat(popularPostRanking.top(true, MAIN_PAGE_POST_COUNT).stream(),
+                        popularPostRanking.top(false, MAIN_PAGE_POST_COUNT).stream())
+                .toList();
 
-        return Stream.concat(runningSpotPosts.stream(), runningCertificationPosts.stream())
-                .map(CommunityDTO.MainPagePostResponse::new)
+        List<Post> posts = findAllInOrder(postIds);
+        Map<Long, String> thumbnails = new HashMap<>();
+        if (!posts.isEmpty())
+            postImageRepository.findAllByPostIdIn(postIds).forEach(postImage ->
+                    thumbnails.putIfAbsent(postImage.getPost().getPostId(), postImage.getThumbnailURLOrOriginal()));
+
+        return posts.stream()
+                .map(post -> new CommunityDTO.MainPagePostResponse(post, thumbnails.get(post.getPostId())))
                 .toList();
     }
 
@@ -166,6 +222,7 @@ public class CommunityServiceImpl implements CommunityService{
 
         post.setLikeCount(post.getLikeCount() + 1);
         likeRepository.save(like);
+        updateRanking(post, popularPostRanking::update);
 
         return likeRepository.save(like);
     }
@@ -179,7 +236,7 @@ public class CommunityServiceImpl implements CommunityService{
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다."));
 
         if (user.get().getUserEmail().equals("administer") || user.get().getUserNickname().equals("administer")) { // 관리자는 모든 글 삭제 가능
-            postRepository.delete(post);
+            delete(post);
             return;
         }
 
@@ -187,18 +244,90 @@ public class CommunityServiceImpl implements CommunityService{
             throw new IllegalArgumentException("게시글을 삭제할 권한이 없습니다.");
         }
 
+        delete(post);
+    }
+
+    // 게시글을 지운 뒤 더 이상 쓰지 않는 이미지를 S3 에서 지운다
+    private void delete(Post post) {
+        List<PostImage> postImages = new ArrayList<>(post.getPostImageList());
         postRepository.delete(post);
+        s3Service.deleteFiles(postImages);
+        updateRanking(post, popularPostRanking::remove);
+    }
+
+
+    // 메인 페이지에 보이는 인기 게시글이 들어오거나 빠지거나 좋아요 수가 바뀌면 메인 페이지 캐시를 비운다
+    private void updateRanking(Post post, Consumer<Post> change) {
+        boolean wasOnMainPage = popularPostRanking.top(post.getPostTag(), MAIN_PAGE_POST_COUNT).contains(post.getPostId());
+        change.accept(post);
+        if (wasOnMainPage || popularPostRanking.top(post.getPostTag(), MAIN_PAGE_POST_COUNT).contains(post.getPostId()))
+            eventPublisher.publishEvent(new MainPageChangedEvent());
+    }
+
+    // 클릭한 게시글을 맨 앞에 두고, 그 뒤에 같은 태그의 인기 게시글 (클릭한 글은 중복 제외)
+    private List<Post> findClickedAndPopular(Long postId, Boolean postTag) {
+        List<Long> postIds = new ArrayList<>();
+        postIds.add(postId);
+        popularPostRanking.top(postTag, POPULAR_POST_COUNT).stream()
+                .filter(id -> !id.equals(postId))
+                .forEach(postIds::add);
+        return findAllInOrder(postIds);
     }
 
+    // 순위는 PopularPostRanking 에서 정하고, 게시글은 id 로 한 번에 읽어 그 순서대로 돌려준다 (그 사이 삭제된 글과 게시되지 않은 글은 빠진다)
+    private List<Post> findAllInOrder(List<Long> postIds) {
+        if (postIds.isEmpty())
+            return List.of();
 
-    private CommunityDTO.PostViewResponse convertToDTO(Post post, Optional<User> user) {
-        List<String> postImages = post.getPostImageList()
-                .stream()
-                .map(PostImage::getImageURL)
+        Map<Long, Post> posts = new HashMap<>();
+        postRepository.findPublishedByPostIdIn(postIds).forEach(post -> posts.put(post.getPostId(), post));
+        return postIds.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
                 .toList();
+    }
+
+    private List<Post> findPage(Boolean postTag, CommunityDTO.PostCursor cursor) {
+        if (cursor.getSize() < 1 || cursor.getSize() > CommunityDTO.PostCursor.MAX_SIZE)
+            throw new IllegalArgumentException("한 번에 1 ~ " + CommunityDTO.PostCursor.MAX_SIZE + "개까지 조회할 수 있습니다.");
+        Limit limit = Limit.of(cursor.getSize());
+
+        if (cursor.getSort() == PostSort.POPULAR) {
+            if (cursor.isFirstPage())
+                return postRepository.findPopular(postTag, limit);
+            if (cursor.getLastLikeCount() == null)
+                throw new IllegalArgumentException("lastLikeCount 가 필요합니다.");
+            return postRepository.findPopularAfter(postTag, cursor.getLastLikeCount(), cursor.getLastPostId(), limit);
+        }
+
+        if (cursor.isFirstPage())
+            return postRepository.findLatest(postTag, limit);
+        if (cursor.getLastPostDate() == null)
+            throw new IllegalArgumentException("lastPostDate 가 필요합니다.");
+        return postRepository.findLatestAfter(postTag, cursor.getLastPostDate(), cursor.getLastPostId(), limit);
+    }
+
+    // 이미지와 좋아요 여부는 게시글 수와 상관없이 각각 쿼리 한 번으로 조회한다 (작성자는 PostRepository 에서 같이 조회)
+    private List<CommunityDTO.PostViewResponse> convertToDTOs(List<Post> posts, Optional<User> user) {
+        if (posts.isEmpty())
+            return List.of();
 
-        boolean isLiked = user.isPresent() && likeRepository.existsByUserAndPost(user.get(), post);
+        List<Long> postIds = posts.stream().map(Post::getPostId).toList();
+
+        Map<Long, List<PostImage>> postImages = new HashMap<>();
+        postImageRepository.findAllByPostIdIn(postIds).forEach(postImage ->
+                postImages.computeIfAbsent(postImage.getPost().getPostId(), id -> new ArrayList<>()).add(postImage));
+
+        Set<Long> likedPostIds = user.isPresent()
+                ? likeRepository.findLikedPostIds(user.get().getUserId(), postIds)
+                : Set.of();
+
+        return posts.stream()
+                .map(post -> convertToDTO(post, postImages.getOrDefault(post.getPostId(), List.of()), likedPostIds.contains(post.getPostId())))
+                .toList();
+    }
 
+    private CommunityDTO.PostViewResponse convertToDTO(Post post, List<PostImage> postImages, boolean isLiked) {
         return CommunityDTO.PostViewResponse.builder()
                 .postId(post.getPostId())
                 .userId(post.getUser().getUserId())
@@ -209,7 +338,8 @@ public class CommunityServiceImpl implements CommunityService{
                 .postTitle(post.getPostTitle())
                 .postDate(post.getPostDate())
                 .postTag(post.getPostTag())
-                .postImages(postImages)
+                .postImages(postImages.stream().map(PostImage::getMediumURLOrOriginal).toList())
+                .postOriginalImages(postImages.stream().map(PostImage::getImageURL).toList())
                 .isLikedByUser(isLiked)
                 .build();
     }
@@ -0,0 +1,205 @@
+package RunningMate.backend.domain.community.upload;
+
+import RunningMate.backend.domain.community.entity.PostImage;
+import RunningMate.backend.domain.community.entity.PostUploadJob;
+import RunningMate.backend.domain.community.entity.PostUploadJobStatus;
+import RunningMate.backend.domain.community.repository.PostUploadJobRepository;
+import RunningMate.backend.domain.community.s3.service.S3Service;
+import RunningMate.backend.domain.community.service.CommunityService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+// 게시글 이미지를 요청 스레드 밖에서 S3 에 올린다. 요청 중에는 이미지를 로컬 디스크(staging-dir)에 옮기고 작업(PostUploadJob)만 저장한다.
+// 작업은 DB 에 남으므로 서버가 재시작돼도 이어서 처리하고, 실패하면 retry-delay 부터 두 배씩 늘려 max-attempts 번까지 다시 시도한다.
+// 끝내 실패한 게시글은 FAILED 로 바꾼다. 작업을 받은 서버가 사라지면(재배포로 nodeId 가 바뀐 경우 포함) 아무도 가져가지 않으므로,
+// orphan-timeout 이 지나도록 남은 작업은 어느 서버에서든 지우고 게시글을 FAILED 로 바꾼다.
+@Slf4j
+@Component
+public class PostUploadQueue {
+    private static final int POLL_BATCH_SIZE = 100;
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final PostUploadJobRepository jobRepository;
+    private final S3Service s3Service;
+    private final CommunityService communityService;
+    private final ExecutorService workers;
+    private final Path stagingDir;
+    private final String nodeId;
+    private final int maxAttempts;
+    private final long retryDelay;
+    private final Duration orphanTimeout;
+
+    public PostUploadQueue(PostUploadJobRepository jobRepository, S3Service s3Service, @Lazy CommunityService communityService,
+                           @Value("${community.upload.staging-dir:${java.io.tmpdir}/runningmate-upload}") String stagingDir,
+                           @Value("${community.upload.node-id:${HOSTNAME:local}}") String nodeId,
+                           @Value("${community.upload.workers:2}") int workers,
+                           @Value("${community.upload.max-attempts:5}") int maxAttempts,
+                           @Value("${community.upload.retry-delay:10000}") long retryDelay,
+                           @Value("${community.upload.orphan-timeout:3600000}") long orphanTimeout) throws IOException {
+        this.jobRepository = jobRepository;
+        this.s3Service = s3Service;
+        this.communityService = communityService;
+        this.workers = Executors.newFixedThreadPool(workers);
+        this.stagingDir = Files.createDirectories(Path.of(stagingDir));
+        this.nodeId = nodeId;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.orphanTimeout = Duration.ofMillis(orphanTimeout);
+    }
+
+    // 요청이 끝나면 MultipartFile 이 지워지므로 먼저 디스크에 옮겨 둔다
+    public Path stage(List<MultipartFile> images) throws IOException {
+        Path dir = Files.createTempDirectory(stagingDir, "post-");
+        try {
+            for (int i = 0; i < images.size(); i++)
+                StagedImage.stage(images.get(i), i, dir);
+        } catch (IOException e) {
+            discard(dir);
+            throw e;
+        }
+        return dir;
+    }
+
+    // 게시글을 저장하는 트랜잭션 안에서 부른다. 워커에는 커밋된 뒤에 넘기고, 놓치면 poll 이 가져간다
+    public void enqueue(Long postId, Path dir) {
+        PostUploadJob job = jobRepository.save(PostUploadJob.builder()
+                .postId(postId)
+                .nodeId(nodeId)
+                .stagingDir(dir.toString())
+                .status(PostUploadJobStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(job.getJobId());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(job.getJobId());
+            }
+        });
+    }
+
+    // 게시글 저장에 실패해 작업을 만들지 못했을 때 옮겨 둔 이미지를 지운다
+    public void discard(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            log.warn("업로드 임시 파일을 지우지 못했습니다 : {}", dir, e);
+        }
+    }
+
+    // 다시 시도할 시각이 된 작업과, 워커가 가득 차 넘기지 못한 작업을 가져간다
+    @Scheduled(fixedDelayString = "${community.upload.poll-interval:5000}")
+    public void poll() {
+        jobRepository.findDueJobIds(nodeId, LocalDateTime.now(), Limit.of(POLL_BATCH_SIZE)).forEach(this::submit);
+    }
+
+    // 원래 서버가 뒤늦게 끝내더라도 게시글이 FAILED 라 publishPost 가 false 를 돌려주고 올린 이미지는 되돌린다
+    @Scheduled(fixedDelayString = "${community.upload.sweep-interval:600000}")
+    public void sweepOrphans() {
+        for (PostUploadJob job : jobRepository.findCreatedBefore(LocalDateTime.now().minus(orphanTimeout), Limit.of(POLL_BATCH_SIZE))) {
+            if (jobRepository.deleteByJobId(job.getJobId()) == 0)
+                continue;
+            log.warn("게시글 {} 이미지 업로드 작업이 {} 에서 끝나지 않아 실패 처리합니다.", job.getPostId(), job.getNodeId());
+            communityService.failPost(job.getPostId());
+            if (nodeId.equals(job.getNodeId()))
+                discard(Path.of(job.getStagingDir()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        int released = jobRepository.releaseRunning(nodeId);
+        if (released > 0)
+            log.info("중단된 게시글 이미지 업로드 {}건을 다시 처리합니다.", released);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow(); // 처리 중이던 작업은 RUNNING 으로 남고 다음 시작 때 recover 에서 다시 대기시킨다
+    }
+
+    private void submit(Long jobId) {
+        try {
+            workers.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            log.debug("종료 중이라 업로드 작업 {} 을 넘기지 않습니다.", jobId);
+        }
+    }
+
+    void run(Long jobId) {
+        if (jobRepository.claim(jobId) == 0)
+            return;
+        PostUploadJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null)
+            return;
+
+        Path dir = Path.of(job.getStagingDir());
+        try {
+            List<PostImage> postImages = s3Service.uploadFile(StagedImage.listOf(dir));
+            boolean published;
+            try {
+                published = communityService.publishPost(job.getPostId(), postImages);
+            } catch (RuntimeException e) {
+                s3Service.deleteFiles(postImages);
+                throw e;
+            }
+            if (!published)
+                s3Service.deleteFiles(postImages); // 올리는 사이 게시글이 지워졌다
+            finish(job, dir);
+        } catch (Exception e) {
+            try {
+                retryOrFail(job, dir, e);
+            } catch (RuntimeException retryError) {
+                log.warn("업로드 작업 {} 상태를 저장하지 못했습니다. 다음 시작 때 다시 처리합니다.", jobId, retryError);
+            }
+        }
+    }
+
+    private void retryOrFail(PostUploadJob job, Path dir, Exception e) {
+        if (job.getAttempts() >= maxAttempts) {
+            log.warn("게시글 {} 이미지 업로드에 {}번 실패했습니다.", job.getPostId(), job.getAttempts(), e);
+            communityService.failPost(job.getPostId());
+            finish(job, dir);
+            return;
+        }
+
+        long delay = retryDelay << Math.min(job.getAttempts() - 1, 10);
+        String error = String.valueOf(e.getMessage());
+        log.info("게시글 {} 이미지 업로드 실패, {}ms 뒤 다시 시도합니다 : {}", job.getPostId(), delay, error);
+        jobRepository.retryLater(job.getJobId(), LocalDateTime.now().plusNanos(delay * 1_000_000),
+                error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+    }
+
+    private void finish(PostUploadJob job, Path dir) {
+        jobRepository.deleteById(job.getJobId());
+        discard(dir);
+    }
+}
@@ -0,0 +1,90 @@
+package RunningMate.backend.domain.community.upload;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+// 디스크에 옮겨 둔 업로드 이미지. 요청이 끝난 뒤에도 S3Service 에 MultipartFile 로 넘길 수 있게 한다.
+// 파일 이름은 "순번_원래이름" 이라 이름순으로 읽으면 올린 순서가 된다.
+class StagedImage implements MultipartFile {
+    private final Path path;
+
+    StagedImage(Path path) {
+        this.path = path;
+    }
+
+    static Path stage(MultipartFile image, int index, Path dir) throws IOException {
+        Path path = dir.resolve(String.format("%03d_%s", index, safeName(image.getOriginalFilename())));
+        image.transferTo(path);
+        return path;
+    }
+
+    static List<MultipartFile> listOf(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted()
+                    .<MultipartFile>map(StagedImage::new)
+                    .toList();
+        }
+    }
+
+    private static String safeName(String fileName) {
+        if (fileName == null || fileName.isBlank())
+            return "image";
+        String name = Path.of(fileName).getFileName().toString().replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.length() > 100 ? name.substring(name.length() - 100) : name;
+    }
+
+    @Override
+    public String getName() {
+        return "image";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        String fileName = path.getFileName().toString();
+        return fileName.substring(fileName.indexOf('_') + 1);
+    }
+
+    @Override
+    public String getContentType() {
+        String contentType = URLConnection.guessContentTypeFromName(getOriginalFilename());
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
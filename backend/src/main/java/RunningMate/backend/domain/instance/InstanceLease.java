@@ -0,0 +1,24 @@
+package RunningMate.backend.domain.instance;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// 서버 한 대만 잡을 수 있는 lease. owner 가 expiresAt 전에 갱신하지 않으면 다른 서버가 가져갈 수 있다.
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class InstanceLease {
+    @Id
+    @Column(length = 32)
+    private String leaseName;
+
+    @Column(nullable = false, length = 128)
+    private String owner;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
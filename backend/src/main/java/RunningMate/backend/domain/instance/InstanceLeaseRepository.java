@@ -0,0 +1,30 @@
+package RunningMate.backend.domain.instance;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface InstanceLeaseRepository extends JpaRepository<InstanceLease, String> {
+    // 처음 한 번만 행을 만든다. 이미 있으면 키 중복으로 실패한다
+    @Transactional
+    @Modifying
+    @Query(value = "insert into instance_lease (lease_name, owner, expires_at) values (:leaseName, :owner, :expiresAt)", nativeQuery = true)
+    int create(@Param("leaseName") String leaseName, @Param("owner") String owner, @Param("expiresAt") Instant expiresAt);
+
+    // 내가 가진 lease 이거나 만료된 lease 일 때만 잡는다 (갱신도 같은 쿼리)
+    @Transactional
+    @Modifying
+    @Query("update InstanceLease l set l.owner = :owner, l.expiresAt = :expiresAt " +
+            "where l.leaseName = :leaseName and (l.owner = :owner or l.expiresAt < :now)")
+    int acquire(@Param("leaseName") String leaseName, @Param("owner") String owner,
+                @Param("expiresAt") Instant expiresAt, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update InstanceLease l set l.expiresAt = :now where l.leaseName = :leaseName and l.owner = :owner")
+    int release(@Param("leaseName") String leaseName, @Param("owner") String owner, @Param("now") Instant now);
+}
@@ -0,0 +1,79 @@
+package RunningMate.backend.domain.instance;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+// 실시간 리더보드, 빠른 매칭방, 세션 사용자 캐시는 서버 메모리에만 있어서 서버가 두 대면 서로 다른 순위와 방을 보게 된다.
+// 그래서 서버는 한 대만 띄운다. DB 의 lease 를 잡은 서버만 시작하고, 살아 있는 서버가 있으면 두 번째 서버는 시작하지 못한다.
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "running.single-instance.enabled", havingValue = "true", matchIfMissing = true)
+public class SingleInstanceGuard {
+    static final String LEASE_NAME = "backend";
+
+    private final InstanceLeaseRepository instanceLeaseRepository;
+    private final Duration leaseTtl;
+    private final String owner;
+
+    public SingleInstanceGuard(InstanceLeaseRepository instanceLeaseRepository,
+                               @Value("${running.single-instance.lease-ttl:30s}") Duration leaseTtl) {
+        this.instanceLeaseRepository = instanceLeaseRepository;
+        this.leaseTtl = leaseTtl;
+        this.owner = hostName() + "/" + UUID.randomUUID();
+    }
+
+    @PostConstruct
+    public void acquire() {
+        Instant now = Instant.now();
+        if (tryCreate(now) || instanceLeaseRepository.acquire(LEASE_NAME, owner, now.plus(leaseTtl), now) > 0) {
+            log.info("서버 lease 획득 : {}", owner);
+            return;
+        }
+        InstanceLease lease = instanceLeaseRepository.findById(LEASE_NAME).orElseThrow();
+        throw new IllegalStateException("다른 서버(" + lease.getOwner() + ")가 실행 중입니다. 서버는 한 대만 띄울 수 있습니다. (lease 만료 : " + lease.getExpiresAt() + ")");
+    }
+
+    // lease 를 잃었다면 그 사이 다른 서버가 시작한 것이다. 이 서버의 메모리 상태는 더 이상 믿을 수 없으므로 크게 남긴다
+    @Scheduled(fixedDelayString = "${running.single-instance.renew-interval:10000}")
+    public void renew() {
+        Instant now = Instant.now();
+        if (instanceLeaseRepository.acquire(LEASE_NAME, owner, now.plus(leaseTtl), now) == 0)
+            log.error("서버 lease 를 다른 서버에 빼앗겼습니다. 이 서버를 내려야 합니다 : {}", owner);
+    }
+
+    // 정상 종료 시 바로 놓아서 다음 서버가 lease 만료를 기다리지 않게 한다
+    @PreDestroy
+    public void release() {
+        instanceLeaseRepository.release(LEASE_NAME, owner, Instant.now());
+    }
+
+    private boolean tryCreate(Instant now) {
+        if (instanceLeaseRepository.existsById(LEASE_NAME))
+            return false;
+        try {
+            return instanceLeaseRepository.create(LEASE_NAME, owner, now.plus(leaseTtl)) > 0;
+        } catch (DataIntegrityViolationException e) {
+            return false; // 동시에 시작한 다른 서버가 먼저 만들었다
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package RunningMate.backend.domain.mainpage;
+
+import RunningMate.backend.domain.community.dto.CommunityDTO;
+import RunningMate.backend.domain.community.service.CommunityService;
+import RunningMate.backend.domain.running.dto.RunningDTO;
+import RunningMate.backend.domain.running.service.RunningService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 메인 페이지 응답을 JSON 으로 직렬화해 들고 있는다. 앱을 켤 때마다 게시글/러닝방을 조회하지 않도록 하고,
+// MainPageChangedEvent 를 받으면 다음 요청 때 다시 만든다. 다른 서버에서 바뀐 내용은 ttl 이 지나면 반영된다.
+@Component
+public class MainPageCache {
+    private final CommunityService communityService;
+    private final RunningService runningService;
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+    private final ReentrantLock rebuildLock = new ReentrantLock(); // 잠근 채로 DB 를 조회한다
+
+    // eTag : body 의 MD5 (따옴표 포함)
+    public record Snapshot(byte[] body, String eTag, long version, long expiresAt) {
+    }
+
+    public MainPageCache(CommunityService communityService, RunningService runningService, ObjectMapper objectMapper,
+                         @Value("${mainpage.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.communityService = communityService;
+        this.runningService = runningService;
+        this.objectMapper = objectMapper;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    }
+
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (isValid(current))
+            return current;
+        return rebuild();
+    }
+
+    // 트랜잭션 안에서 발행되면 커밋된 뒤에 비워야 다시 만들 때 바뀐 내용이 보인다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMainPageChanged(MainPageChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    private Snapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            return rebuildLocked();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot rebuildLocked() {
+        Snapshot current = snapshot;
+        if (isValid(current))
+            return current;
+
+        // 만드는 도중에 바뀌면 이 스냅샷은 다음 요청 때 버려진다
+        long buildVersion = version.get();
+        List<CommunityDTO.MainPagePostResponse> mainPagePost = communityService.getMainPagePost();
+        List<RunningDTO.MainPageGroupResponse> mainPageGroupResponses = runningService.mainPageGroups();
+        byte[] body = serialize(new MainPageDTO(mainPagePost, mainPageGroupResponses));
+
+        Snapshot rebuilt = new Snapshot(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"",
+                buildVersion, System.currentTimeMillis() + ttlMillis);
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    private boolean isValid(Snapshot current) {
+        return current != null && current.version == version.get() && System.currentTimeMillis() < current.expiresAt;
+    }
+
+    private byte[] serialize(MainPageDTO mainPage) {
+        try {
+            return objectMapper.writeValueAsBytes(mainPage);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("메인 페이지 응답을 만들 수 없습니다.", e);
+        }
+    }
+}
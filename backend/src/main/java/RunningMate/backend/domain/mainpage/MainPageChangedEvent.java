@@ -0,0 +1,5 @@
+package RunningMate.backend.domain.mainpage;
+
+// 메인 페이지에 보이는 러닝방이나 인기 게시글이 바뀌었을 때 발행. MainPageCache 가 받아 캐시를 비운다.
+public record MainPageChangedEvent() {
+}
@@ -1,37 +1,40 @@
 package RunningMate.backend.domain.mainpage;
 
-import RunningMate.backend.domain.community.dto.CommunityDTO;
-import RunningMate.backend.domain.community.service.CommunityService;
-import RunningMate.backend.domain.running.dto.RunningDTO;
-import RunningMate.backend.domain.running.service.RunningService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @Slf4j
 @RequiredArgsConstructor
 @RequestMapping("/mainPage")
 public class MainPageController {
-    private final CommunityService communityService;
-    private final RunningService runningService;
+    private final MainPageCache mainPageCache;
 
-    @Operation(summary = "메인 페이지 요청", description = "메인 페이지에서 띄워줄 게시글, 개설된 러닝그룹을 반환한다.")
+    @Operation(summary = "메인 페이지 요청", description = "메인 페이지에서 띄워줄 게시글, 개설된 러닝그룹을 반환한다. " +
+            "이전 응답의 ETag 를 If-None-Match 로 보내면 바뀐 내용이 없을 때 304 를 반환한다.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "메인페이지 정보 반환 성공")
+            @ApiResponse(responseCode = "200", description = "메인페이지 정보 반환 성공"),
+            @ApiResponse(responseCode = "304", description = "이전 응답과 같음")
     })
     @GetMapping("")
-    public ResponseEntity<?> getMainPage(){
-        List<CommunityDTO.MainPagePostResponse> mainPagePost = communityService.getMainPagePost();
-        List<RunningDTO.MainPageGroupResponse> mainPageGroupResponses = runningService.mainPageGroups();
-        return ResponseEntity.ok().body(new MainPageDTO(mainPagePost, mainPageGroupResponses));
+    public ResponseEntity<?> getMainPage(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        MainPageCache.Snapshot snapshot = mainPageCache.get();
+        if (snapshot.eTag().equals(ifNoneMatch))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.eTag()).build();
+        return ResponseEntity.ok()
+                .eTag(snapshot.eTag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
     }
 }
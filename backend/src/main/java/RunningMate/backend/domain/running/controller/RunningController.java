@@ -15,6 +15,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -106,7 +107,7 @@ public class RunningController {
             return ResponseEntity.ok().body(runningGroupViewResponses);
     }
 
-    @Operation(summary = "러닝방 목록 필터링하여 조회 하기", description = "사용자에게 groupTag, 검색어를 입력받아 필터링 후 결과를 반환한다.")
+    @Operation(summary = "러닝방 목록 필터링하여 조회 하기", description = "사용자에게 groupTag, 검색어를 입력받아 필터링 후 결과를 반환한다. 검색어를 띄어 쓰면 모든 단어가 제목에 들어 있는 방을 찾는다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "러닝 방 조회 성공"),
             @ApiResponse(responseCode = "204", description = "생성된 러닝방이 없는 경우")
@@ -157,6 +158,23 @@ public class RunningController {
         }
     }
 
+    @Operation(summary = "러닝 중 리더보드 구독", description = "recordId를 보내 러닝방 리더보드를 SSE(text/event-stream)로 받는다. \n" +
+            "구독 직후 현재 리더보드를 한 번 보내고, 이후 다른 참가자의 /running/update 로 내 화면(내 위, 나, 내 아래)이 바뀔 때만 " +
+            "leaderboard 이벤트로 /running/update 응답과 같은 형태를 보낸다. 러닝방이 종료되면 연결이 끊긴다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "구독 성공"),
+            @ApiResponse(responseCode = "400", description = "구독 실패")
+    })
+    @GetMapping(value = "/stream", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<?> streamLeaderboard(@RequestParam("recordId") Long recordId, HttpSession session) {
+        try {
+            Optional<User> optionalUser = sessionUtils.getUserFromSession(session);
+            return ResponseEntity.ok().body(runningService.subscribeLeaderboard(recordId, optionalUser));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+        }
+    }
+
     @Operation(summary = "tts 멘트 생성", description = "recordId를 입력받아 리더보드를 제공한다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "리더보드 조회 성공"),
@@ -4,6 +4,7 @@ import RunningMate.backend.domain.running.entity.GroupTag;
 import RunningMate.backend.domain.running.entity.LeaderBoard;
 import RunningMate.backend.domain.running.entity.Record;
 import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.running.leaderboard.RankedRunner;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -11,6 +12,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 public class RunningDTO {
@@ -117,6 +119,18 @@ public class RunningDTO {
     @AllArgsConstructor
     public static class WhileRunningResponse{
         private List<WhileRunningLeaderboardResponse> leaderboardResponseList;
+
+        public static WhileRunningResponse of(List<RankedRunner> window, Long recordId, String rankChange){
+            List<WhileRunningLeaderboardResponse> response = new ArrayList<>();
+            for (RankedRunner runner : window) {
+                response.add(new WhileRunningLeaderboardResponse(runner, recordId, rankChange));
+            }
+            // 참가 인원 3명 미만일 때, 더미데이터 추가
+            for (int rank = window.size() + 1; rank <= 3; rank++) {
+                response.add(new WhileRunningLeaderboardResponse("-", Long.valueOf(rank), false, "same", 0.0));
+            }
+            return new WhileRunningResponse(response);
+        }
     }
 
     @Getter
@@ -129,17 +143,15 @@ public class RunningDTO {
         private String rankChange;
         private Double distance;
 
-        public WhileRunningLeaderboardResponse(LeaderBoard leaderBoard, Long rank, String rankChange){
-            this.userNickname = leaderBoard.getRecord().getUser().getUserNickname();
-            this.rank = leaderBoard.getCurrentRanking();
-            this.isMyRecord = false;
-            if(this.rank.equals(rank))
-                this.isMyRecord = true;
+        public WhileRunningLeaderboardResponse(RankedRunner runner, Long recordId, String rankChange){
+            this.userNickname = runner.getUserNickname();
+            this.rank = runner.getRanking();
+            this.isMyRecord = runner.getRecordId().equals(recordId);
 
             this.rankChange = "same";
             if(isMyRecord)
                 this.rankChange = rankChange;
-            this.distance = Double.valueOf(leaderBoard.getRecord().getDistance()) / 1000;
+            this.distance = Double.valueOf(runner.getDistance()) / 1000;
         }
     }
 
@@ -160,6 +172,14 @@ public class RunningDTO {
             this.distance =  Math.round(kilometers * 1000.0) / 1000.0;
             this.yourRecord = yourRecord;
         }
+
+        public LeaderboardResponse(RankedRunner runner, boolean yourRecord){
+            this.ranking = runner.getRanking();
+            this.userNickname = runner.getUserNickname();
+            double kilometers = runner.getDistance() / 1000.0;
+            this.distance =  Math.round(kilometers * 1000.0) / 1000.0;
+            this.yourRecord = yourRecord;
+        }
     }
 
     @Builder
@@ -12,6 +12,7 @@ import org.hibernate.annotations.DynamicUpdate;
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_leader_board_group_ranking", columnList = "groupId, currentRanking"))
 public class LeaderBoard {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -3,6 +3,7 @@ package RunningMate.backend.domain.running.entity;
 import RunningMate.backend.domain.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
@@ -17,6 +18,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_record_user_start_time", columnList = "userId, runningStartTime"))
 public class Record {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -41,13 +43,18 @@ public class Record {
     @OneToOne(mappedBy = "record")
     private LeaderBoard leaderBoard;
 
+    @Builder.Default
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private Boolean statsApplied = false; // UserStats 에 더해졌는지
+
     public void updateRecord(Long distance, Duration runningTime) {
         this.distance = distance;
         this.runningTime = runningTime;
-        this.calories = calcCalories();
+        this.calories = calcCalories(distance, runningTime, this.user.getUserWeight());
     }
 
-    private Double calcCalories(){
+    public static Double calcCalories(Long distance, Duration runningTime, Long userWeight){
         long seconds = runningTime.getSeconds();
         Double pace = (double) distance / seconds;
         Double met = 0.0;
@@ -63,6 +70,6 @@ public class Record {
             met = 6.0;
         }
 
-        return Math.round(met * this.user.getUserWeight() * (seconds / 3600.0) * 100) / 100.0;
+        return Math.round(met * userWeight * (seconds / 3600.0) * 100) / 100.0;
     }
 }
@@ -3,6 +3,7 @@ package RunningMate.backend.domain.running.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
@@ -12,6 +13,8 @@ import java.util.List;
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_running_group_activate_tag_start", columnList = "activate, groupTag, startTime"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_running_group_quick_date", columnNames = "quickDate"))
 public class RunningGroup {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -41,27 +44,12 @@ public class RunningGroup {
     @Column(nullable = false)
     private Boolean activate;
 
+    private LocalDate quickDate; // 빠른 매칭방만 채운다. 날짜당 한 방 (일반 방은 null 이라 유니크 제약에 걸리지 않는다)
+
     @OneToMany(mappedBy = "group")
     private List<LeaderBoard> leaderBoardList;
 
     public void deactivate(){
         this.activate = false;
     }
-    public boolean participateGroup(){
-        if(this.currentParticipants >= this.maxParticipants)
-            return false;
-        else {
-            this.currentParticipants += 1;
-            return true;
-        }
-    }
-
-    public boolean leaveGroup(){
-        if(this.currentParticipants <= 0)
-            return false;
-        else{
-            this.currentParticipants -= 1;
-            return true;
-        }
-    }
 }
@@ -0,0 +1,62 @@
+package RunningMate.backend.domain.running.expiry;
+
+import RunningMate.backend.domain.running.service.RunningService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 러닝방 종료 시각마다 타이머를 걸어 두고 그 시각에 종료 처리한다. 같은 초에 끝나는 방은 한 번에 처리한다.
+@Component
+@Slf4j
+public class GroupExpiryScheduler {
+    private final TaskScheduler taskScheduler;
+    private final RunningService runningService;
+    private final Map<LocalDateTime, Set<Long>> expiries = new ConcurrentHashMap<>();
+
+    public GroupExpiryScheduler(TaskScheduler taskScheduler, @Lazy RunningService runningService) {
+        this.taskScheduler = taskScheduler;
+        this.runningService = runningService;
+    }
+
+    public void schedule(Long groupId, LocalDateTime endTime) {
+        LocalDateTime expireAt = endTime.truncatedTo(ChronoUnit.SECONDS);
+        if (expireAt.isBefore(endTime))
+            expireAt = expireAt.plusSeconds(1);
+
+        boolean[] created = {false};
+        expiries.compute(expireAt, (key, groupIds) -> {
+            if (groupIds == null) {
+                groupIds = ConcurrentHashMap.newKeySet();
+                created[0] = true;
+            }
+            groupIds.add(groupId);
+            return groupIds;
+        });
+
+        // 이미 지난 시각이면 바로 실행된다
+        if (created[0]) {
+            LocalDateTime key = expireAt;
+            taskScheduler.schedule(() -> expire(key), expireAt.atZone(ZoneId.systemDefault()).toInstant());
+        }
+    }
+
+    private void expire(LocalDateTime expireAt) {
+        Set<Long> groupIds = expiries.remove(expireAt);
+        if (groupIds == null || groupIds.isEmpty())
+            return;
+
+        try {
+            runningService.expireRunningGroups(groupIds);
+        } catch (Exception e) {
+            log.warn("러닝방 종료 처리 실패 {} : {}", groupIds, e.getMessage()); // 주기 점검에서 다시 처리된다
+        }
+    }
+}
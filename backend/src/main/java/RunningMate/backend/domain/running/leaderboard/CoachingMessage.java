@@ -0,0 +1,30 @@
+package RunningMate.backend.domain.running.leaderboard;
+
+// 러닝 중 TTS 로 읽어줄 문장. 바로 위(leading), 아래(following) 참가자 거리는 없으면 null
+public final class CoachingMessage {
+    private CoachingMessage() {
+    }
+
+    public static String of(Long ranking, String rankChange, Long currentDistance,
+                            Long leadingDistance, Long followingDistance, Long bestDistance) {
+        if (currentDistance >= bestDistance)
+            return "현재 러닝 최고 기록 갱신 중 입니다. 현재 " + currentDistance + "미터 입니다.";
+
+        if (rankChange.equals("up")) {
+            if (ranking.equals(1L))
+                return "현재 " + currentDistance + "미터로 1등이 되었습니다! 선두를 유지하세요.";
+            return ranking + "등이 되었습니다. " + (ranking - 1) + "등과 " + (leadingDistance - currentDistance) + "미터 차이 입니다.";
+        }
+        else if (rankChange.equals("same")) {
+            if (ranking.equals(1L)) {
+                if (followingDistance != null)
+                    return "현재 1등으로 선두입니다. 2등과는 " + (currentDistance - followingDistance) + "미터 차이입니다.";
+                return "현재 1등으로 선두입니다.";
+            }
+            return "현재 " + ranking + "등 입니다. " + (ranking - 1) + "등과는 " + (leadingDistance - currentDistance) + "미터 차이입니다.";
+        }
+        else {
+            return "현재 " + ranking + "등이 되었습니다.";
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package RunningMate.backend.domain.running.leaderboard;
+
+import RunningMate.backend.domain.running.dto.RunningDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 러닝방별 SSE 구독자 관리. 누군가의 순위가 바뀌면 화면이 달라지는 구독자에게만 새 리더보드를 보낸다.
+@Component
+@Slf4j
+public class LeaderBoardStreamPublisher {
+    private static final String EVENT_NAME = "leaderboard";
+
+    private final Map<Long, Map<Long, SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService[] senders; // 러닝방별로 같은 스레드에서 보내 이벤트 순서를 유지
+    private final long timeout;
+
+    public LeaderBoardStreamPublisher(@Value("${running.stream.sender-threads:4}") int senderThreads,
+                                      @Value("${running.stream.timeout:3600000}") long timeout) {
+        this.senders = new ExecutorService[senderThreads];
+        for (int i = 0; i < senderThreads; i++)
+            this.senders[i] = Executors.newSingleThreadExecutor();
+        this.timeout = timeout;
+    }
+
+    // 기록 주인만 구독할 수 있다. 같은 기록으로 다시 구독하면 이전 연결을 끊고 바꾼다
+    public SseEmitter subscribe(LiveLeaderBoard board, Long recordId, Long userId) {
+        if (!board.userIdOf(recordId).equals(userId))
+            throw new IllegalArgumentException("본인의 기록만 구독할 수 있습니다.");
+
+        Long groupId = board.getGroupId();
+        SseEmitter emitter = new SseEmitter(timeout);
+        Map<Long, SseEmitter> groupSubscribers = subscribers.computeIfAbsent(groupId, id -> new ConcurrentHashMap<>());
+
+        SseEmitter previous = groupSubscribers.put(recordId, emitter);
+        if (previous != null)
+            previous.complete();
+
+        Runnable unsubscribe = () -> groupSubscribers.remove(recordId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        // 구독 직후 현재 리더보드를 한 번 보내준다
+        send(groupId, recordId, emitter, leaderboard(board, recordId));
+        return emitter;
+    }
+
+    public void publish(LiveLeaderBoard board, LiveLeaderBoard.Standing standing) {
+        Map<Long, SseEmitter> groupSubscribers = subscribers.get(board.getGroupId());
+        if (groupSubscribers == null || groupSubscribers.isEmpty())
+            return;
+
+        for (Long recordId : board.affectedRecordIds(standing.getFromRank(), standing.getToRank())) {
+            SseEmitter emitter = groupSubscribers.get(recordId);
+            if (emitter == null)
+                continue;
+            try {
+                send(board.getGroupId(), recordId, emitter, leaderboard(board, recordId));
+            } catch (IllegalArgumentException e) {
+                emitter.complete(); // 그 사이 참가 취소한 경우
+            }
+        }
+    }
+
+    // 러닝방 종료 시 구독을 모두 끊는다
+    public void close(Long groupId) {
+        Map<Long, SseEmitter> groupSubscribers = subscribers.remove(groupId);
+        if (groupSubscribers != null)
+            groupSubscribers.values().forEach(SseEmitter::complete);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.keySet().forEach(this::close);
+        for (ExecutorService sender : senders)
+            sender.shutdown();
+    }
+
+    private RunningDTO.WhileRunningResponse leaderboard(LiveLeaderBoard board, Long recordId) {
+        return RunningDTO.WhileRunningResponse.of(board.window(recordId), recordId, board.rankChange(recordId));
+    }
+
+    private void send(Long groupId, Long recordId, SseEmitter emitter, Object data) {
+        senders[(int) Math.floorMod(groupId, (long) senders.length)].execute(() -> {
+            try {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).data(data));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("리더보드 구독 전송 실패 recordId = {} : {}", recordId, e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+    }
+}
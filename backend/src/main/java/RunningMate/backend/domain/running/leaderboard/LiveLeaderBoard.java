@@ -0,0 +1,245 @@
+package RunningMate.backend.domain.running.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+// 러닝방 하나의 실시간 순위표. 러닝 중 갱신은 여기서만 일어나고 DB 에는 LiveLeaderBoardManager 가 모아서 반영한다.
+public class LiveLeaderBoard {
+    private static final int WINDOW_SIZE = 3;
+
+    @Getter
+    private final Long groupId;
+    private final RankingTree tree = new RankingTree();
+    private final Map<Long, Runner> runners = new HashMap<>();
+    private boolean changed;
+
+    public LiveLeaderBoard(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    private static class Runner {
+        private final Long boardId;
+        private final Long recordId;
+        private final Long userId;
+        private final String userNickname;
+        private long distance;
+        private long currentRanking;
+        private long preRanking;
+        private boolean dirty;
+        private Long bestDistance; // 이전 기록 중 최고 거리. 처음 갱신할 때 한 번 읽어 둔다
+        private String ttsMessage; // 마지막 갱신 기준으로 미리 만들어 둔 TTS 문장
+
+        private Runner(Long boardId, Long recordId, Long userId, String userNickname,
+                       long distance, long currentRanking, long preRanking) {
+            this.boardId = boardId;
+            this.recordId = recordId;
+            this.userId = userId;
+            this.userNickname = userNickname;
+            this.distance = distance;
+            this.currentRanking = currentRanking;
+            this.preRanking = preRanking;
+        }
+
+        private void updateRanking(long ranking) {
+            this.preRanking = this.currentRanking;
+            this.currentRanking = ranking;
+            this.dirty = true;
+        }
+
+        private String rankChange() {
+            if (preRanking > currentRanking)
+                return "up";
+            else if (preRanking < currentRanking)
+                return "down";
+            else
+                return "same";
+        }
+    }
+
+    // update 결과. fromRank ~ toRank 구간의 순위가 이번 갱신으로 바뀌었다.
+    @Getter
+    @AllArgsConstructor
+    public static class Standing {
+        private Long ranking;
+        private Long preRanking;
+        private String rankChange;
+        private int fromRank;
+        private int toRank;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class RankingChange {
+        private Long boardId;
+        private Long currentRanking;
+        private Long preRanking;
+    }
+
+    public synchronized void join(Long boardId, Long recordId, Long userId, String userNickname,
+                                  Long distance, Long currentRanking, Long preRanking) {
+        if (runners.containsKey(recordId))
+            return;
+
+        runners.put(recordId, new Runner(boardId, recordId, userId, userNickname, distance, currentRanking, preRanking));
+        tree.insert(distance, recordId);
+        changed = true;
+    }
+
+    public synchronized boolean leave(Long recordId) {
+        Runner runner = runners.remove(recordId);
+        if (runner == null)
+            return false;
+
+        tree.remove(runner.distance, recordId);
+        changed = true;
+        return true;
+    }
+
+    public synchronized boolean contains(Long recordId) {
+        return runners.containsKey(recordId);
+    }
+
+    public synchronized List<Long> recordIds() {
+        return new ArrayList<>(runners.keySet());
+    }
+
+    public synchronized int size() {
+        return runners.size();
+    }
+
+    public synchronized Standing update(Long recordId, Long distance) {
+        Runner runner = getRunner(recordId);
+
+        int before = tree.rankOf(runner.distance, recordId);
+        tree.remove(runner.distance, recordId);
+        runner.distance = distance;
+        tree.insert(distance, recordId);
+        int after = tree.rankOf(distance, recordId);
+
+        runner.updateRanking(after);
+        changed = true;
+        if (runner.bestDistance != null)
+            runner.ttsMessage = coachingMessage(runner, after);
+        return new Standing(runner.currentRanking, runner.preRanking, runner.rankChange(),
+                Math.min(before, after), Math.max(before, after));
+    }
+
+    public synchronized boolean hasBestDistance(Long recordId) {
+        return getRunner(recordId).bestDistance != null;
+    }
+
+    public synchronized Long userIdOf(Long recordId) {
+        return getRunner(recordId).userId;
+    }
+
+    public synchronized void initBestDistance(Long recordId, Long bestDistance) {
+        Runner runner = getRunner(recordId);
+        if (runner.bestDistance == null)
+            runner.bestDistance = bestDistance;
+    }
+
+    // 아직 한 번도 갱신하지 않았으면 비어 있다
+    public synchronized Optional<String> ttsMessage(Long recordId) {
+        return Optional.ofNullable(getRunner(recordId).ttsMessage);
+    }
+
+    public synchronized String rankChange(Long recordId) {
+        return getRunner(recordId).rankChange();
+    }
+
+    // 러닝 중 화면에 보여줄 3줄 : 1등이면 1~3등, 꼴등이면 뒤에서 3명, 나머지는 내 위, 나, 내 아래
+    public synchronized List<RankedRunner> window(Long recordId) {
+        Runner runner = getRunner(recordId);
+        int size = tree.size();
+        if (size <= WINDOW_SIZE)
+            return ranked(1, size);
+
+        int rank = tree.rankOf(runner.distance, recordId);
+        if (rank == 1)
+            return ranked(1, WINDOW_SIZE);
+        else if (rank == size)
+            return ranked(size - WINDOW_SIZE + 1, size);
+        else
+            return ranked(rank - 1, rank + 1);
+    }
+
+    // fromRank ~ toRank 순위가 바뀌었을 때 화면(window)이 달라지는 참가자들
+    public synchronized List<Long> affectedRecordIds(int fromRank, int toRank) {
+        int size = tree.size();
+        TreeSet<Integer> ranks = new TreeSet<>();
+        if (size <= WINDOW_SIZE) {
+            fromRank = 1;
+            toRank = size;
+        }
+        for (int rank = Math.max(1, fromRank - 1); rank <= Math.min(size, toRank + 1); rank++)
+            ranks.add(rank);
+        if (size > 0 && fromRank <= WINDOW_SIZE)
+            ranks.add(1); // 1등 화면은 1~3등
+        if (size > 0 && toRank > size - WINDOW_SIZE)
+            ranks.add(size); // 꼴등 화면은 뒤에서 3명
+
+        List<Long> recordIds = new ArrayList<>(ranks.size());
+        ranks.forEach(rank -> recordIds.add(tree.recordIdAt(rank)));
+        return recordIds;
+    }
+
+    public synchronized List<RankedRunner> standings() {
+        List<RankedRunner> result = new ArrayList<>(tree.size());
+        tree.forEachInOrder(recordId -> {
+            Runner runner = runners.get(recordId);
+            result.add(new RankedRunner(runner.recordId, runner.userId, runner.userNickname, runner.distance, (long) result.size() + 1));
+        });
+        return result;
+    }
+
+    // 마지막 반영 이후 순위가 바뀐 참가자만 모아서 돌려준다
+    synchronized List<RankingChange> drainRankingChanges() {
+        if (!changed)
+            return List.of();
+
+        List<RankingChange> changes = new ArrayList<>();
+        long[] rank = {0};
+        tree.forEachInOrder(recordId -> {
+            Runner runner = runners.get(recordId);
+            rank[0]++;
+            if (runner.currentRanking != rank[0])
+                runner.updateRanking(rank[0]);
+            if (runner.dirty) {
+                changes.add(new RankingChange(runner.boardId, runner.currentRanking, runner.preRanking));
+                runner.dirty = false;
+            }
+        });
+        changed = false;
+        return changes;
+    }
+
+    private List<RankedRunner> ranked(int fromRank, int toRank) {
+        List<RankedRunner> result = new ArrayList<>();
+        for (int rank = fromRank; rank <= toRank; rank++) {
+            Runner runner = runners.get(tree.recordIdAt(rank));
+            result.add(new RankedRunner(runner.recordId, runner.userId, runner.userNickname, runner.distance, (long) rank));
+        }
+        return result;
+    }
+
+    private String coachingMessage(Runner runner, int rank) {
+        Long leadingDistance = rank > 1 ? runners.get(tree.recordIdAt(rank - 1)).distance : null;
+        Long followingDistance = rank < tree.size() ? runners.get(tree.recordIdAt(rank + 1)).distance : null;
+        return CoachingMessage.of((long) rank, runner.rankChange(), runner.distance,
+                leadingDistance, followingDistance, runner.bestDistance);
+    }
+
+    private Runner getRunner(Long recordId) {
+        Runner runner = runners.get(recordId);
+        if (runner == null)
+            throw new IllegalArgumentException("해당하는 리더보드를 찾을 수 없습니다.");
+        return runner;
+    }
+}
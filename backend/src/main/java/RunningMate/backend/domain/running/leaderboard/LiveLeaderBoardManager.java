@@ -0,0 +1,164 @@
+package RunningMate.backend.domain.running.leaderboard;
+
+import RunningMate.backend.domain.running.entity.LeaderBoard;
+import RunningMate.backend.domain.running.entity.Record;
+import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.running.repository.LeaderBoardRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 활성화된 러닝방들의 LiveLeaderBoard 를 들고 있고, 바뀐 순위를 주기적으로 LeaderBoard 테이블에 모아서 반영한다.
+@Component
+@Slf4j
+public class LiveLeaderBoardManager {
+    private static final String UPDATE_RANKING = "update leader_board set current_ranking = ?, pre_ranking = ? where board_id = ?";
+
+    private final LeaderBoardRepository leaderBoardRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, LiveLeaderBoard> boards = new ConcurrentHashMap<>();
+    private final Map<Long, Long> groupIdByRecordId = new ConcurrentHashMap<>();
+    // 반영에 실패한 순위. 보드에서는 이미 꺼냈고 (종료된 방이면 보드도 없다) 다음 반영 때 같이 쓴다
+    private final Map<Long, LiveLeaderBoard.RankingChange> failed = new ConcurrentHashMap<>();
+    private final ReentrantLock persistLock = new ReentrantLock();
+    private final int flushBatchSize;
+
+    public LiveLeaderBoardManager(LeaderBoardRepository leaderBoardRepository, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  @Value("${running.leaderboard.flush-batch-size:500}") int flushBatchSize) {
+        this.leaderBoardRepository = leaderBoardRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    public Optional<LiveLeaderBoard> findByRecordId(Long recordId) {
+        Long groupId = groupIdByRecordId.get(recordId);
+        if (groupId == null)
+            return Optional.empty();
+        return findByGroupId(groupId);
+    }
+
+    public Optional<LiveLeaderBoard> findByGroupId(Long groupId) {
+        return Optional.ofNullable(boards.get(groupId));
+    }
+
+    // 메모리에 올라와 있지 않은 러닝방이면 DB 에서 한 번 읽어서 올린다. 종료된 방은 올리지 않는다
+    public LiveLeaderBoard attach(LeaderBoard leaderBoard) {
+        RunningGroup group = leaderBoard.getGroup();
+        if (group.getActivate().equals(false))
+            throw new IllegalArgumentException("해당 러닝방은 종료되었습니다.");
+
+        // DB 조회는 맵 락 밖에서 하고, 동시에 읽었으면 먼저 올린 쪽을 쓴다
+        Long groupId = group.getGroupId();
+        LiveLeaderBoard board = boards.get(groupId);
+        if (board == null) {
+            LiveLeaderBoard loaded = load(group);
+            board = boards.putIfAbsent(groupId, loaded);
+            if (board == null) {
+                board = loaded;
+                loaded.recordIds().forEach(recordId -> groupIdByRecordId.put(recordId, groupId));
+            }
+        }
+        if (!board.contains(leaderBoard.getRecord().getRecordId()))
+            join(board, leaderBoard);
+        return board;
+    }
+
+    // 새 참가자. 이미 메모리에 올라와 있는 방에만 반영하고, 아니면 처음 조회할 때 같이 읽힌다.
+    public void join(LeaderBoard leaderBoard) {
+        LiveLeaderBoard board = boards.get(leaderBoard.getGroup().getGroupId());
+        if (board != null)
+            join(board, leaderBoard);
+    }
+
+    public void leave(Long recordId) {
+        Long groupId = groupIdByRecordId.remove(recordId);
+        if (groupId == null)
+            return;
+
+        LiveLeaderBoard board = boards.get(groupId);
+        if (board != null)
+            board.leave(recordId);
+    }
+
+    // 러닝방 종료 시 남은 순위를 반영하고 메모리에서 내린다
+    public void evict(Long groupId) {
+        LiveLeaderBoard board = boards.remove(groupId);
+        if (board == null)
+            return;
+
+        persist(board.drainRankingChanges());
+        board.recordIds().forEach(groupIdByRecordId::remove);
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${running.leaderboard.flush-interval:2000}")
+    public void flush() {
+        List<LiveLeaderBoard.RankingChange> changes = new ArrayList<>();
+        boards.values().forEach(board -> changes.addAll(board.drainRankingChanges()));
+        persist(changes);
+    }
+
+    private LiveLeaderBoard load(RunningGroup group) {
+        LiveLeaderBoard board = new LiveLeaderBoard(group.getGroupId());
+        leaderBoardRepository.findAllWithRecordByGroup(group).forEach(leaderBoard -> addRunner(board, leaderBoard));
+        return board;
+    }
+
+    private void join(LiveLeaderBoard board, LeaderBoard leaderBoard) {
+        addRunner(board, leaderBoard);
+        groupIdByRecordId.put(leaderBoard.getRecord().getRecordId(), board.getGroupId());
+    }
+
+    private void addRunner(LiveLeaderBoard board, LeaderBoard leaderBoard) {
+        Record record = leaderBoard.getRecord();
+        board.join(leaderBoard.getBoardId(), record.getRecordId(), record.getUser().getUserId(),
+                record.getUser().getUserNickname(), record.getDistance(),
+                leaderBoard.getCurrentRanking(), leaderBoard.getPreRanking());
+    }
+
+    // 바뀐 순위를 batch 단위로 JDBC batch 한 번에 UPDATE 한다. 같은 boardId 는 나중 값이 이긴다
+    private void persist(List<LiveLeaderBoard.RankingChange> changes) {
+        persistLock.lock();
+        try {
+            Map<Long, LiveLeaderBoard.RankingChange> latest = new LinkedHashMap<>();
+            for (Long boardId : new ArrayList<>(failed.keySet())) {
+                LiveLeaderBoard.RankingChange change = failed.remove(boardId);
+                if (change != null)
+                    latest.put(boardId, change);
+            }
+            changes.forEach(change -> latest.put(change.getBoardId(), change));
+
+            List<LiveLeaderBoard.RankingChange> pending = new ArrayList<>(latest.values());
+            for (int from = 0; from < pending.size(); from += flushBatchSize) {
+                List<LiveLeaderBoard.RankingChange> batch = pending.subList(from, Math.min(from + flushBatchSize, pending.size()));
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            jdbcTemplate.batchUpdate(UPDATE_RANKING, batch, batch.size(), (ps, change) -> {
+                                ps.setLong(1, change.getCurrentRanking());
+                                ps.setLong(2, change.getPreRanking());
+                                ps.setLong(3, change.getBoardId());
+                            }));
+                } catch (Exception e) {
+                    log.warn("리더보드 순위 반영 실패 ({}건), 다음 주기에 다시 시도합니다 : {}", batch.size(), e.getMessage());
+                    batch.forEach(change -> failed.put(change.getBoardId(), change));
+                }
+            }
+        } finally {
+            persistLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package RunningMate.backend.domain.running.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 리더보드에서 읽어간 시점의 참가자 순위 스냅샷
+@Getter
+@AllArgsConstructor
+public class RankedRunner {
+    private Long recordId;
+    private Long userId;
+    private String userNickname;
+    private Long distance;
+    private Long ranking;
+}
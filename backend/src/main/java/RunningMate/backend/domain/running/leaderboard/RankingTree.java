@@ -0,0 +1,167 @@
+package RunningMate.backend.domain.running.leaderboard;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+
+// 거리 내림차순(동률이면 recordId 오름차순)으로 정렬되는 순위 트리 (subtree size 를 가진 treap)
+// 삽입, 삭제, 순위 조회, n등 조회 모두 O(log n). 동기화는 호출하는 쪽(LiveLeaderBoard)에서 처리한다.
+class RankingTree {
+    private static final class Node {
+        private final long distance;
+        private final long recordId;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long distance, long recordId) {
+            this.distance = distance;
+            this.recordId = recordId;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(long distance, long recordId) {
+        root = insert(root, new Node(distance, recordId));
+    }
+
+    void remove(long distance, long recordId) {
+        root = remove(root, distance, recordId);
+    }
+
+    // 1등부터 시작하는 순위, 없으면 -1
+    int rankOf(long distance, long recordId) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(distance, recordId, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                before += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return before + size(node.left) + 1;
+            }
+        }
+        return -1;
+    }
+
+    // rank 등의 recordId
+    long recordIdAt(int rank) {
+        if (rank < 1 || rank > size())
+            throw new IndexOutOfBoundsException("rank " + rank + " / size " + size());
+
+        Node node = root;
+        int remain = rank;
+        while (true) {
+            int leftSize = size(node.left);
+            if (remain <= leftSize) {
+                node = node.left;
+            } else if (remain == leftSize + 1) {
+                return node.recordId;
+            } else {
+                remain -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // 1등부터 순서대로 recordId 를 넘겨준다
+    void forEachInOrder(LongConsumer consumer) {
+        forEachInOrder(root, consumer);
+    }
+
+    private static void forEachInOrder(Node node, LongConsumer consumer) {
+        if (node == null)
+            return;
+        forEachInOrder(node.left, consumer);
+        consumer.accept(node.recordId);
+        forEachInOrder(node.right, consumer);
+    }
+
+    private static Node insert(Node node, Node newNode) {
+        if (node == null)
+            return newNode;
+
+        if (newNode.priority > node.priority) {
+            Node[] parts = split(node, newNode.distance, newNode.recordId);
+            newNode.left = parts[0];
+            newNode.right = parts[1];
+            return update(newNode);
+        }
+
+        if (compare(newNode.distance, newNode.recordId, node) < 0)
+            node.left = insert(node.left, newNode);
+        else
+            node.right = insert(node.right, newNode);
+        return update(node);
+    }
+
+    private static Node remove(Node node, long distance, long recordId) {
+        if (node == null)
+            return null;
+
+        int cmp = compare(distance, recordId, node);
+        if (cmp == 0)
+            return merge(node.left, node.right);
+
+        if (cmp < 0)
+            node.left = remove(node.left, distance, recordId);
+        else
+            node.right = remove(node.right, distance, recordId);
+        return update(node);
+    }
+
+    // [key 보다 앞, key 이후] 로 나눈다
+    private static Node[] split(Node node, long distance, long recordId) {
+        if (node == null)
+            return new Node[]{null, null};
+
+        if (compare(distance, recordId, node) > 0) {
+            Node[] parts = split(node.right, distance, recordId);
+            node.right = parts[0];
+            return new Node[]{update(node), parts[1]};
+        } else {
+            Node[] parts = split(node.left, distance, recordId);
+            node.left = parts[1];
+            return new Node[]{parts[0], update(node)};
+        }
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null)
+            return right;
+        if (right == null)
+            return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        } else {
+            right.left = merge(left, right.left);
+            return update(right);
+        }
+    }
+
+    private static int compare(long distance, long recordId, Node node) {
+        if (distance != node.distance)
+            return distance > node.distance ? -1 : 1; // 많이 달린 사람이 앞
+        return Long.compare(recordId, node.recordId);  // 동률이면 먼저 참가한 사람이 앞
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
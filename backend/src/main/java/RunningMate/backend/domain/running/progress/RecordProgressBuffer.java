@@ -0,0 +1,159 @@
+package RunningMate.backend.domain.running.progress;
+
+import RunningMate.backend.domain.running.entity.Record;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 러닝 중 기록(거리, 시간)을 recordId 별 최신값만 메모리에 모아 두었다가 주기적으로 한 번에 반영하는 write-behind 버퍼
+@Component
+@Slf4j
+public class RecordProgressBuffer {
+    // 통계에 반영된(종료된) 기록은 조건에 걸려 덮어쓰지 않는다. running_time 은 Hibernate 기본 매핑대로 나노초 numeric 이다
+    private static final String UPDATE_PROGRESS =
+            "update record set distance = ?, running_time = ?, calories = ? where record_id = ? and stats_applied = false";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final Map<Long, Progress> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final long maxUnflushedMillis;
+    private final int flushBatchSize;
+
+    private final Counter receivedCounter;
+    private final Counter flushedCounter;
+    private final Timer flushLagTimer;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Progress {
+        private Long distance;
+        private Duration runningTime;
+        private Double calories;
+        private long bufferedAt; // 이 recordId 가 마지막 반영 이후 처음 들어온 시각
+    }
+
+    public RecordProgressBuffer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                TaskScheduler taskScheduler, MeterRegistry meterRegistry,
+                                @Value("${running.record.max-unflushed-seconds:10}") long maxUnflushedSeconds,
+                                @Value("${running.record.flush-batch-size:500}") int flushBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.maxUnflushedMillis = TimeUnit.SECONDS.toMillis(maxUnflushedSeconds);
+        this.flushBatchSize = flushBatchSize;
+
+        this.receivedCounter = meterRegistry.counter("running.record.buffer.received");
+        this.flushedCounter = meterRegistry.counter("running.record.buffer.flushed");
+        this.flushLagTimer = meterRegistry.timer("running.record.buffer.flush.lag");
+        Gauge.builder("running.record.buffer.pending", pending, Map::size).register(meterRegistry);
+        // 받은 갱신 수 / 실제 UPDATE 한 행 수
+        Gauge.builder("running.record.buffer.coalescing.ratio", this,
+                buffer -> buffer.flushedCounter.count() == 0 ? 0 : buffer.receivedCounter.count() / buffer.flushedCounter.count())
+                .register(meterRegistry);
+    }
+
+    // 칼로리는 체중이 필요해서 받을 때 계산해 두고, 반영할 때는 기록을 다시 읽지 않는다
+    public void put(Long recordId, Long distance, Duration runningTime, Long userWeight) {
+        long now = System.currentTimeMillis();
+        Double calories = Record.calcCalories(distance, runningTime, userWeight);
+        Progress progress = pending.merge(recordId, new Progress(distance, runningTime, calories, now),
+                (previous, latest) -> new Progress(latest.distance, latest.runningTime, latest.calories, previous.bufferedAt));
+        receivedCounter.increment();
+
+        // 주기 반영이 밀려 max-unflushed-seconds 를 넘긴 기록이 있으면 요청 스레드 대신 스케줄러에 한 번만 반영을 맡긴다
+        if (now - progress.bufferedAt > maxUnflushedMillis && flushRequested.compareAndSet(false, true))
+            taskScheduler.schedule(this::flush, Instant.now());
+    }
+
+    public Optional<Progress> find(Long recordId) {
+        return Optional.ofNullable(pending.get(recordId));
+    }
+
+    public void discard(Long recordId) {
+        pending.remove(recordId);
+    }
+
+    // 러닝 종료 시 해당 기록들만 바로 반영
+    public void flush(Collection<Long> recordIds) {
+        flushLock.lock();
+        try {
+            write(drain(recordIds));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${running.record.flush-interval:2000}")
+    public void flush() {
+        flushRequested.set(false);
+        flush(new ArrayList<>(pending.keySet()));
+    }
+
+    private Map<Long, Progress> drain(Collection<Long> recordIds) {
+        Map<Long, Progress> drained = new HashMap<>();
+        for (Long recordId : recordIds) {
+            Progress progress = pending.remove(recordId);
+            if (progress != null)
+                drained.put(recordId, progress);
+        }
+        return drained;
+    }
+
+    private void write(Map<Long, Progress> drained) {
+        if (drained.isEmpty())
+            return;
+
+        long now = System.currentTimeMillis();
+        long oldest = drained.values().stream().mapToLong(Progress::getBufferedAt).min().orElse(now);
+        flushLagTimer.record(now - oldest, TimeUnit.MILLISECONDS);
+
+        // 기록을 읽지 않고 recordId 로 UPDATE 하고, batch 단위로 JDBC batch 한 번에 보낸다
+        List<Long> recordIds = new ArrayList<>(drained.keySet());
+        for (int from = 0; from < recordIds.size(); from += flushBatchSize) {
+            List<Long> batch = recordIds.subList(from, Math.min(from + flushBatchSize, recordIds.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(UPDATE_PROGRESS, batch, batch.size(), (ps, recordId) -> {
+                            Progress progress = drained.get(recordId);
+                            ps.setLong(1, progress.distance);
+                            ps.setLong(2, progress.runningTime.toNanos());
+                            ps.setDouble(3, progress.calories);
+                            ps.setLong(4, recordId);
+                        }));
+                flushedCounter.increment(batch.size());
+            } catch (Exception e) {
+                log.warn("러닝 기록 반영 실패 ({}건), 다음 주기에 다시 시도합니다 : {}", batch.size(), e.getMessage());
+                // 그 사이 들어온 최신값이 있으면 그걸 유지
+                batch.forEach(recordId -> pending.putIfAbsent(recordId, drained.get(recordId)));
+            }
+        }
+    }
+}
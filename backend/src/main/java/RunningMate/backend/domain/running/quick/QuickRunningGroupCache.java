@@ -0,0 +1,153 @@
+package RunningMate.backend.domain.running.quick;
+
+import RunningMate.backend.domain.running.entity.GroupTag;
+import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.running.leaderboard.RankedRunner;
+import RunningMate.backend.domain.running.repository.LeaderBoardRepository;
+import RunningMate.backend.domain.running.repository.RunningGroupRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 현재 활성화된 빠른 매칭방. 참가할 때마다 방과 참가자 목록을 DB 에서 찾지 않도록 메모리에 들고 있고, 자정 교체 때 다시 읽는다.
+@Component
+@RequiredArgsConstructor
+public class QuickRunningGroupCache {
+    private final RunningGroupRepository groupRepository;
+    private final LeaderBoardRepository leaderBoardRepository;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Room room;
+
+    public static class Room {
+        @Getter
+        private final Long groupId;
+        private final AtomicLong participants;
+        private final Map<Long, Long> recordIdByUserId = new ConcurrentHashMap<>();
+        private final Map<Long, ReentrantLock> joining = new ConcurrentHashMap<>();
+        private volatile boolean active = true;
+
+        private Room(Long groupId, long participants) {
+            this.groupId = groupId;
+            this.participants = new AtomicLong(participants);
+        }
+
+        // 이미 참가한 사용자면 기존 recordId, 아니면 join 으로 새로 참가시킨다. 같은 사용자의 동시 요청은 한 번만 참가된다.
+        // join 은 DB 에 저장하므로 computeIfAbsent(내부 synchronized) 안에서 돌리지 않고 사용자별 ReentrantLock 으로 막는다 (가상 스레드 pinning 방지)
+        public Long participate(Long userId, Function<Long, Long> join) {
+            while (true) {
+                Long recordId = recordIdByUserId.get(userId);
+                if (recordId != null)
+                    return recordId;
+                checkActive();
+
+                ReentrantLock lock = joining.computeIfAbsent(userId, id -> new ReentrantLock());
+                lock.lock();
+                try {
+                    // 앞선 요청이 끝나면서 치운 잠금이면 지금 등록된 잠금으로 다시 잡는다
+                    if (joining.get(userId) != lock)
+                        continue;
+
+                    recordId = recordIdByUserId.get(userId);
+                    if (recordId != null)
+                        return recordId;
+                    checkActive();
+
+                    long ranking = participants.incrementAndGet();
+                    try {
+                        recordId = join.apply(ranking);
+                    } catch (RuntimeException e) {
+                        participants.decrementAndGet();
+                        throw e;
+                    }
+                    recordIdByUserId.put(userId, recordId);
+                    return recordId;
+                } finally {
+                    // 참가가 실패해도 치워서 사용자별 잠금이 쌓이지 않게 한다
+                    joining.remove(userId, lock);
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void checkActive() {
+            if (!active)
+                throw new IllegalArgumentException("해당 러닝방은 종료되었습니다.");
+        }
+
+        public Optional<Long> findRecordId(Long userId) {
+            return Optional.ofNullable(recordIdByUserId.get(userId));
+        }
+
+        public void leave(Long userId, Long recordId) {
+            if (recordIdByUserId.remove(userId, recordId))
+                participants.decrementAndGet();
+        }
+    }
+
+    public Optional<Room> current() {
+        Room current = room;
+        if (current == null)
+            current = refresh();
+        return Optional.ofNullable(current);
+    }
+
+    public Optional<Room> findByGroupId(Long groupId) {
+        Room current = room;
+        if (current == null || !current.groupId.equals(groupId))
+            return Optional.empty();
+        return Optional.of(current);
+    }
+
+    // 방 교체. 교체 트랜잭션이 커밋되기 전에 이전 방을 닫아 새 참가를 막고, 끝나면 새 방을 읽는다.
+    // 그동안 current() 는 refreshLock 에서 기다리므로 아직 꺼지지 않은 이전 방을 다시 읽지 않는다
+    public <T> T replace(Supplier<T> rollover) {
+        refreshLock.lock();
+        try {
+            Room previous = room;
+            if (previous != null)
+                previous.active = false;
+            room = null;
+            try {
+                return rollover.get();
+            } finally {
+                load();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // 활성화된 빠른 매칭방과 참가자를 한 번에 다시 읽는다
+    public Room refresh() {
+        refreshLock.lock();
+        try {
+            return load();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Room load() {
+        RunningGroup group = groupRepository.findByGroupTagAndActivateTrue(GroupTag.QUICK);
+        if (group == null) {
+            room = null;
+            return null;
+        }
+
+        Room loaded = new Room(group.getGroupId(), 0);
+        for (RankedRunner runner : leaderBoardRepository.findRankedRunnersByGroupId(group.getGroupId())) {
+            loaded.recordIdByUserId.put(runner.getUserId(), runner.getRecordId());
+            loaded.participants.incrementAndGet();
+        }
+        room = loaded;
+        return loaded;
+    }
+}
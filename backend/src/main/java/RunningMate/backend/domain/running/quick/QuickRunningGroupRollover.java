@@ -0,0 +1,63 @@
+package RunningMate.backend.domain.running.quick;
+
+import RunningMate.backend.domain.running.entity.GroupTag;
+import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.running.repository.RunningGroupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// 하루 단위 빠른 매칭방 교체. 활성화된 방이 없는 순간이 생기지 않도록 한 트랜잭션, 한 번의 UPDATE 로 바꾼다.
+@Component
+@RequiredArgsConstructor
+public class QuickRunningGroupRollover {
+    private final RunningGroupRepository groupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // day 의 방을 비활성 상태로 미리 만들어 둔다. 이미 있으면 그대로 둔다.
+    public RunningGroup prepare(LocalDate day) {
+        return execute(status -> findOrCreate(day));
+    }
+
+    // day 의 방을 활성화하고 나머지 빠른 매칭방은 모두 끈다. 꺼진 방의 id 를 돌려준다.
+    public List<Long> rollover(LocalDate day) {
+        return execute(status -> {
+            RunningGroup next = findOrCreate(day);
+            List<Long> finishedGroupIds = groupRepository.findAllByGroupTagAndActivateTrue(GroupTag.QUICK).stream()
+                    .map(RunningGroup::getGroupId)
+                    .filter(groupId -> !groupId.equals(next.getGroupId()))
+                    .toList();
+            groupRepository.switchActiveGroup(GroupTag.QUICK, next.getGroupId());
+            return finishedGroupIds;
+        });
+    }
+
+    // 다른 서버가 같은 날의 방을 먼저 만들었으면 유니크 제약에 걸린다. 새 트랜잭션에서 그 방을 다시 읽어 쓴다
+    private <T> T execute(TransactionCallback<T> action) {
+        try {
+            return transactionTemplate.execute(action);
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(action);
+        }
+    }
+
+    private RunningGroup findOrCreate(LocalDate day) {
+        return groupRepository.findFirstByGroupTagAndStartTime(GroupTag.QUICK, day.atStartOfDay())
+                .orElseGet(() -> groupRepository.save(RunningGroup.builder()
+                        .groupTitle("빠른 매칭방")
+                        .groupTag(GroupTag.QUICK)
+                        .startTime(day.atStartOfDay())
+                        .endTime(day.plusDays(1).atStartOfDay())
+                        .currentParticipants(0)
+                        .maxParticipants(Integer.MAX_VALUE)
+                        .targetDistance(Long.MAX_VALUE)
+                        .activate(false)
+                        .quickDate(day)
+                        .build()));
+    }
+}
@@ -3,16 +3,34 @@ package RunningMate.backend.domain.running.repository;
 import RunningMate.backend.domain.running.entity.LeaderBoard;
 import RunningMate.backend.domain.running.entity.Record;
 import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.running.leaderboard.RankedRunner;
 import RunningMate.backend.domain.user.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface LeaderBoardRepository extends JpaRepository<LeaderBoard, Long> {
     List<LeaderBoard> findAllByGroup(RunningGroup group);
+    @EntityGraph(attributePaths = {"record", "record.user"})
+    List<LeaderBoard> findAllWithRecordByGroup(RunningGroup group);
     List<LeaderBoard> findAllByGroupOrderByCurrentRankingAsc(RunningGroup group);
     void deleteLeaderBoardByGroupAndRecord(RunningGroup group, Record record);
     LeaderBoard findLeaderBoardByRecord(Record record);
     boolean existsByGroupAndRecordUser(RunningGroup group, Optional<User> user);
+
+    // 같은 러닝방에서 recordId 의 순위 ± range 안에 있는 참가자만 닉네임과 함께 조회 (groupId, currentRanking 인덱스 사용)
+    @Query("select new RunningMate.backend.domain.running.leaderboard.RankedRunner(r.recordId, u.userId, u.userNickname, r.distance, lb.currentRanking) " +
+            "from LeaderBoard me, LeaderBoard lb join lb.record r join r.user u " +
+            "where me.record.recordId = :recordId and lb.group = me.group " +
+            "and lb.currentRanking between me.currentRanking - :range and me.currentRanking + :range " +
+            "order by lb.currentRanking asc")
+    List<RankedRunner> findWindowByRecordId(@Param("recordId") Long recordId, @Param("range") Long range);
+
+    @Query("select new RunningMate.backend.domain.running.leaderboard.RankedRunner(r.recordId, u.userId, u.userNickname, r.distance, lb.currentRanking) " +
+            "from LeaderBoard lb join lb.record r join r.user u where lb.group.groupId = :groupId")
+    List<RankedRunner> findRankedRunnersByGroupId(@Param("groupId") Long groupId);
 }
@@ -2,9 +2,15 @@ package RunningMate.backend.domain.running.repository;
 
 import RunningMate.backend.domain.running.entity.Record;
 import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.user.dto.DailyTotal;
 import RunningMate.backend.domain.user.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +19,16 @@ public interface RecordRepository extends JpaRepository<Record, Long> {
     void deleteRecordByRecordId(Long recordId);
     Record findByUserAndLeaderBoardGroup(Optional<User> user, RunningGroup group);
     List<Record> findAllByUser(Optional<User> user);
-    List<Record> findRecordByUserOrderByDistanceDesc(User user);
+    // 통계에 한 번만 더해지도록 아직 반영 안 된 기록일 때만 표시한다
+    @Modifying
+    @Query("update Record r set r.statsApplied = true where r.recordId = :recordId and r.statsApplied = false")
+    int markStatsApplied(@Param("recordId") Long recordId);
+    @EntityGraph(attributePaths = "user")
+    List<Record> findAllWithUserByLeaderBoardGroupGroupIdAndStatsAppliedFalse(Long groupId);
+    List<Record> findAllByUserUserIdAndStatsAppliedFalseAndLeaderBoardGroupActivateFalse(Long userId);
+    // 아직 UserDailyStats 에 더해지지 않은(진행 중인) 기록의 하루 합계
+    @Query("select new RunningMate.backend.domain.user.dto.DailyTotal(r.runningStartTime, sum(r.distance), sum(r.calories)) " +
+            "from Record r where r.user.userId = :userId and r.statsApplied = false " +
+            "and r.runningStartTime between :startDate and :endDate group by r.runningStartTime")
+    List<DailyTotal> findPendingDailyTotals(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
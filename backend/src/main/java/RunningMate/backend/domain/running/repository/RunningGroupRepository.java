@@ -3,17 +3,55 @@ package RunningMate.backend.domain.running.repository;
 import RunningMate.backend.domain.running.entity.GroupTag;
 import RunningMate.backend.domain.running.entity.RunningGroup;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RunningGroupRepository extends JpaRepository<RunningGroup, Long> {
     List<RunningGroup> findAllByActivateTrueAndGroupTagNot(GroupTag groupTag);
     List<RunningGroup> findAllByActivateTrueAndGroupTagNotOrderByStartTimeAsc(GroupTag groupTag);
+    // 메인 페이지 : 곧 시작하는 방부터 6개 ((activate, groupTag, startTime) 인덱스 사용)
+    List<RunningGroup> findTop6ByActivateTrueAndGroupTagNotOrderByStartTimeAsc(GroupTag groupTag);
     RunningGroup findByGroupId(Long groupId);
     RunningGroup findByGroupTagAndActivateTrue(GroupTag groupTag);
     List<RunningGroup> findAllByGroupTagAndActivateTrue(GroupTag groupTag);
     List<RunningGroup> findAllByEndTimeBeforeAndActivateTrue(LocalDateTime now);
-    List<RunningGroup> findAllByGroupTagAndGroupTitleContainsAndActivateTrueOrderByStartTimeAsc(GroupTag groupTag, String search);
-    List<RunningGroup> findAllByGroupTitleContainsAndActivateTrueOrderByStartTimeAsc(String search);
+    List<RunningGroup> findAllByActivateTrue();
+    List<RunningGroup> findAllByGroupIdGreaterThanAndActivateTrue(Long groupId);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update RunningGroup g set g.activate = false where g.groupId in :groupIds and g.activate = true")
+    int deactivateAllByGroupIdIn(@Param("groupIds") Collection<Long> groupIds);
+
+    // 조건부 UPDATE 한 번으로 정원 확인과 증가를 같이 한다. 반영된 행이 없으면 정원 초과 또는 종료된 방
+    @Transactional
+    @Modifying
+    @Query("update RunningGroup g set g.currentParticipants = g.currentParticipants + 1 " +
+            "where g.groupId = :groupId and g.activate = true and g.currentParticipants < g.maxParticipants")
+    int increaseParticipants(@Param("groupId") Long groupId);
+
+    @Transactional
+    @Modifying
+    @Query("update RunningGroup g set g.currentParticipants = g.currentParticipants - 1 where g.groupId = :groupId and g.currentParticipants > 0")
+    int decreaseParticipants(@Param("groupId") Long groupId);
+
+    // 영속성 컨텍스트를 거치지 않고 DB 값을 바로 읽는다 (increaseParticipants 직후 내 순번 확인용)
+    @Query("select g.currentParticipants from RunningGroup g where g.groupId = :groupId")
+    int findCurrentParticipants(@Param("groupId") Long groupId);
+
+    Optional<RunningGroup> findFirstByGroupTagAndStartTime(GroupTag groupTag, LocalDateTime startTime);
+
+    // groupId 만 활성화하고 같은 태그의 나머지 방은 끈다
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update RunningGroup g set g.activate = (case when g.groupId = :groupId then true else false end) " +
+            "where g.groupTag = :groupTag and (g.activate = true or g.groupId = :groupId)")
+    int switchActiveGroup(@Param("groupTag") GroupTag groupTag, @Param("groupId") Long groupId);
 }
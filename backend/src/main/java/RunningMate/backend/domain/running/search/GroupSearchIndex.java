@@ -0,0 +1,141 @@
+package RunningMate.backend.domain.running.search;
+
+import RunningMate.backend.domain.running.dto.RunningDTO;
+import RunningMate.backend.domain.running.entity.GroupTag;
+import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.running.repository.RunningGroupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// 활성화된 러닝방 제목의 1-gram, 2-gram 역색인. 검색할 때마다 LIKE '%검색어%' 로 테이블 전체를 읽지 않도록 메모리에 들고 있는다.
+// 검색어는 공백으로 나눠 모든 단어가 제목에 들어 있는 방을 찾는다 (대소문자 무시).
+// 방 생성/종료 때 바로 반영하고, 다른 서버에서 만든 방은 syncNewGroups, 나머지 차이는 reload 로 맞춘다.
+@Component
+@RequiredArgsConstructor
+public class GroupSearchIndex {
+    private final RunningGroupRepository groupRepository;
+    private volatile Index index = new Index();
+
+    private record Entry(RunningDTO.RunningGroupViewResponse group, String title) {
+    }
+
+    private static class Index {
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+        private final AtomicLong maxGroupId = new AtomicLong();
+
+        void add(RunningGroup group) {
+            Entry entry = new Entry(new RunningDTO.RunningGroupViewResponse(group), normalize(group.getGroupTitle()));
+            maxGroupId.accumulateAndGet(group.getGroupId(), Math::max);
+            if (entries.put(group.getGroupId(), entry) != null)
+                return;
+            grams(entry.title).forEach(gram -> postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(group.getGroupId()));
+        }
+
+        void remove(Long groupId) {
+            Entry entry = entries.remove(groupId);
+            if (entry == null)
+                return;
+            grams(entry.title).forEach(gram -> postings.computeIfPresent(gram, (key, groupIds) -> {
+                groupIds.remove(groupId);
+                return groupIds.isEmpty() ? null : groupIds;
+            }));
+        }
+
+        // 단어마다 가장 짧은 postings 를 후보로 잡고 실제 포함 여부로 거른다
+        Stream<Entry> search(List<String> terms) {
+            if (terms.isEmpty())
+                return entries.values().stream();
+
+            Set<Long> candidates = null;
+            for (String term : terms) {
+                for (String gram : grams(term)) {
+                    Set<Long> groupIds = postings.getOrDefault(gram, Set.of());
+                    if (candidates == null || groupIds.size() < candidates.size())
+                        candidates = groupIds;
+                }
+            }
+            return candidates.stream()
+                    .map(entries::get)
+                    .filter(entry -> entry != null && terms.stream().allMatch(entry.title::contains));
+        }
+    }
+
+    // 활성화된 방을 startTime 오름차순으로. 종료 시각이 지난 방은 다른 서버에서 종료된 경우가 있어 빼고 돌려준다.
+    public List<RunningDTO.RunningGroupViewResponse> search(GroupTag groupTag, String searchWord) {
+        LocalDateTime now = LocalDateTime.now();
+        return index.search(terms(searchWord))
+                .map(Entry::group)
+                .filter(group -> groupTag == null || group.getGroupTag() == groupTag)
+                .filter(group -> group.getEndTime().isAfter(now))
+                .sorted(Comparator.comparing(RunningDTO.RunningGroupViewResponse::getStartTime)
+                        .thenComparing(RunningDTO.RunningGroupViewResponse::getGroupId))
+                .toList();
+    }
+
+    public void add(RunningGroup group) {
+        index.add(group);
+    }
+
+    public void removeAll(Collection<Long> groupIds) {
+        Index current = index;
+        groupIds.forEach(current::remove);
+    }
+
+    // 다른 서버에서 만든 방 (id 가 지금까지 본 가장 큰 id 보다 큰 활성화된 방)
+    @Scheduled(fixedDelayString = "${running.search.sync-interval:5000}")
+    public void syncNewGroups() {
+        Index current = index;
+        groupRepository.findAllByGroupIdGreaterThanAndActivateTrue(current.maxGroupId.get()).forEach(current::add);
+    }
+
+    @Scheduled(fixedDelayString = "${running.search.reload-interval:600000}")
+    public void reload() {
+        Index loaded = new Index();
+        groupRepository.findAllByActivateTrue().forEach(loaded::add);
+        index = loaded;
+    }
+
+    private static List<String> terms(String searchWord) {
+        if (searchWord == null)
+            return List.of();
+        return Stream.of(normalize(searchWord).split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).strip();
+    }
+
+    // 공백을 포함하지 않는 1-gram, 2-gram (한 글자 검색어는 1-gram, 그 이상은 2-gram 으로 찾는다)
+    private static Set<String> grams(String text) {
+        if (text.length() == 1)
+            return Set.of(text);
+
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            char current = text.charAt(i);
+            if (Character.isWhitespace(current))
+                continue;
+            grams.add(String.valueOf(current));
+            if (i + 1 < text.length() && !Character.isWhitespace(text.charAt(i + 1)))
+                grams.add(text.substring(i, i + 2));
+        }
+        return grams;
+    }
+}
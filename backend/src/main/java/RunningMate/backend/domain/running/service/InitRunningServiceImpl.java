@@ -13,6 +13,7 @@ public class InitRunningServiceImpl implements ApplicationListener<ContextRefres
 
     @Override
     public void onApplicationEvent(ContextRefreshedEvent event) {
-        runningService.autoCreateQuickRunningGroup();
+        runningService.initQuickRunningGroup();
+        runningService.scheduleGroupExpiries();
     }
 }
@@ -5,7 +5,9 @@ import RunningMate.backend.domain.user.entity.User;
 import RunningMate.backend.domain.running.dto.RunningDTO;
 import RunningMate.backend.domain.running.entity.GroupTag;
 import RunningMate.backend.domain.running.entity.RunningGroup;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,9 +20,14 @@ public interface RunningService {
     void cancelParticipation(Long recordId);
     List<RunningDTO.RunningGroupViewResponse> filteringGroup(GroupTag groupTag, String searchWord);
     void deactivateRunningGroup();
+    void expireRunningGroups(Collection<Long> groupIds);
+    void scheduleGroupExpiries();
     List<RunningDTO.MainPageGroupResponse> mainPageGroups();
     void autoCreateQuickRunningGroup();
+    void prepareQuickRunningGroup();
+    void initQuickRunningGroup();
     RunningDTO.WhileRunningResponse whileRunning(RunningDTO.WhileRunningRequest request, Optional<User> optionalUser);
+    SseEmitter subscribeLeaderboard(Long recordId, Optional<User> optionalUser);
     String generateTTSMessage(Long recordId, Optional<User> optionalUser);
     List<RunningDTO.LeaderboardResponse> leaderboard(Long recordId, Optional<User> optionalUser);
 }
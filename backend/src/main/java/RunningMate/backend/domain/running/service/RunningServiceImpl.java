@@ -1,23 +1,37 @@
 package RunningMate.backend.domain.running.service;
 
+import RunningMate.backend.domain.mainpage.MainPageChangedEvent;
 import RunningMate.backend.domain.running.entity.*;
 import RunningMate.backend.domain.running.entity.Record;
 import RunningMate.backend.domain.user.entity.User;
+import RunningMate.backend.domain.user.service.UserStatsService;
 import RunningMate.backend.domain.running.dto.RunningDTO;
+import RunningMate.backend.domain.running.expiry.GroupExpiryScheduler;
+import RunningMate.backend.domain.running.leaderboard.CoachingMessage;
+import RunningMate.backend.domain.running.leaderboard.LeaderBoardStreamPublisher;
+import RunningMate.backend.domain.running.leaderboard.LiveLeaderBoard;
+import RunningMate.backend.domain.running.leaderboard.LiveLeaderBoardManager;
+import RunningMate.backend.domain.running.leaderboard.RankedRunner;
+import RunningMate.backend.domain.running.progress.RecordProgressBuffer;
+import RunningMate.backend.domain.running.quick.QuickRunningGroupCache;
+import RunningMate.backend.domain.running.quick.QuickRunningGroupRollover;
 import RunningMate.backend.domain.running.repository.LeaderBoardRepository;
 import RunningMate.backend.domain.running.repository.RecordRepository;
 import RunningMate.backend.domain.running.repository.RunningGroupRepository;
+import RunningMate.backend.domain.running.search.GroupSearchIndex;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +42,15 @@ public class RunningServiceImpl implements RunningService {
     private final RunningGroupRepository groupRepository;
     private final LeaderBoardRepository leaderBoardRepository;
     private final RecordRepository recordRepository;
+    private final LiveLeaderBoardManager liveLeaderBoardManager;
+    private final RecordProgressBuffer recordProgressBuffer;
+    private final LeaderBoardStreamPublisher leaderBoardStreamPublisher;
+    private final UserStatsService userStatsService;
+    private final GroupExpiryScheduler groupExpiryScheduler;
+    private final QuickRunningGroupRollover quickRunningGroupRollover;
+    private final QuickRunningGroupCache quickRunningGroupCache;
+    private final GroupSearchIndex groupSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
     @Override
     public RunningGroup makeRunningGroup(RunningDTO.MakeRunningGroupRequest request, Optional<User> optionalUser) {
         if(optionalUser.isEmpty())
@@ -36,7 +59,7 @@ public class RunningServiceImpl implements RunningService {
         if(request.getMaxParticipants().equals(0))
             throw new IllegalArgumentException("최대 참가자는 1명 이상 이어야 합니다.");
 
-        return groupRepository.save(RunningGroup.builder().groupTitle(request.getGroupTitle())
+        RunningGroup group = groupRepository.save(RunningGroup.builder().groupTitle(request.getGroupTitle())
                                                             .groupTag(request.getGroupTag())
                                                             .startTime(request.getStartTime())
                                                             .endTime(request.getEndTime())
@@ -45,9 +68,14 @@ public class RunningServiceImpl implements RunningService {
                                                             .targetDistance(request.getTargetDistance())
                                                             .activate(true)
                                                             .build());
+        groupExpiryScheduler.schedule(group.getGroupId(), group.getEndTime());
+        groupSearchIndex.add(group);
+        eventPublisher.publishEvent(new MainPageChangedEvent());
+        return group;
     }
 
     @Override
+    @Transactional
     public RunningDTO.ParticipateGroupResponse participateGroup(Long groupId, Optional<User> optionalUser) {
         if(optionalUser.isEmpty())
             throw new IllegalArgumentException("로그인이 필요한 서비스입니다.");
@@ -57,23 +85,26 @@ public class RunningServiceImpl implements RunningService {
         if(group == null)
             throw new IllegalArgumentException("해당 러닝방을 찾을 수 없습니다.");
 
-        if(!group.participateGroup())
-            throw new IllegalArgumentException("최대 참가자를 달성하여 참가할 수 없습니다.");
-
         if(group.getActivate().equals(false))
             throw new IllegalArgumentException("해당 러닝방은 종료되었습니다.");
 
         boolean alreadyParticipated = leaderBoardRepository.existsByGroupAndRecordUser(group, optionalUser);
         if (alreadyParticipated)
             throw new IllegalArgumentException("이미 해당 러닝방에 참여하셨습니다.");
-        
-        groupRepository.save(group);
-        Long ranking = Long.valueOf(leaderBoardRepository.findAllByGroup(group).size()) + 1;
+
+        // 자리가 남아 있을 때만 DB 에서 바로 1 증가시킨다. 0 이면 그 사이 다 찼거나 종료된 방
+        if(groupRepository.increaseParticipants(groupId) == 0)
+            throw new IllegalArgumentException("최대 참가자를 달성하여 참가할 수 없습니다.");
+
+        // 증가시킨 행은 커밋까지 잠겨 있으므로 같은 트랜잭션에서 다시 읽은 참가자 수가 곧 내 순번이다 (동시 참가자와 겹치지 않는다)
+        // 참가에 실패하면 증가도 같이 롤백된다
+        Long ranking = (long) groupRepository.findCurrentParticipants(groupId);
 
         Record record = recordRepository.save(Record.builder().user(optionalUser.get())
                 .runningStartTime(LocalDate.now()).runningTime(Duration.ZERO).calories(0.0).distance(0L).build());
         LeaderBoard leaderBoard = LeaderBoard.builder().group(group).record(record).currentRanking(ranking).preRanking(ranking).build();
         leaderBoardRepository.save(leaderBoard);
+        liveLeaderBoardManager.join(leaderBoard);
 
         return new RunningDTO.ParticipateGroupResponse(record);
     }
@@ -89,10 +120,14 @@ public class RunningServiceImpl implements RunningService {
         if(group == null)
             throw new IllegalArgumentException("해당 기록이 존재하지 않습니다.");
 
-        if(!group.leaveGroup())
+        if(groupRepository.decreaseParticipants(group.getGroupId()) == 0)
             throw new IllegalArgumentException("이미 참가자가 없습니다.");
+        recordProgressBuffer.discard(recordId);
         leaderBoardRepository.deleteLeaderBoardByGroupAndRecord(group, record);
         recordRepository.deleteRecordByRecordId(recordId);
+        liveLeaderBoardManager.leave(recordId);
+        quickRunningGroupCache.findByGroupId(group.getGroupId())
+                .ifPresent(room -> room.leave(record.getUser().getUserId(), recordId));
     }
 
     @Override
@@ -103,15 +138,7 @@ public class RunningServiceImpl implements RunningService {
 
     @Override
     public List<RunningDTO.RunningGroupViewResponse> filteringGroup(GroupTag groupTag, String searchWord) {
-        List<RunningGroup> groupList;
-        if(groupTag == null){
-            groupList = groupRepository.findAllByGroupTitleContainsAndActivateTrueOrderByStartTimeAsc(searchWord);
-        }
-        else {
-            groupList = groupRepository.findAllByGroupTagAndGroupTitleContainsAndActivateTrueOrderByStartTimeAsc(groupTag, searchWord);
-        }
-
-        return groupList.stream().map(RunningDTO.RunningGroupViewResponse::new).toList();
+        return groupSearchIndex.search(groupTag, searchWord);
     }
 
     @Override
@@ -141,23 +168,26 @@ public class RunningServiceImpl implements RunningService {
     @Scheduled(cron="0 0 0 * * *") // 매일 자정에 자동으로 실행됨
     @Override
     public void autoCreateQuickRunningGroup() {
-        // QUICK 이고 활성화된 방을 모두 비활성화
-        List<RunningGroup> groups = groupRepository.findAllByGroupTagAndActivateTrue(GroupTag.QUICK);
-        for (RunningGroup group : groups) {
-            group.deactivate();
-            groupRepository.save(group);
-        }
-        // 새로 방 생성
-        groupRepository.save(RunningGroup.builder()
-                            .groupTitle("빠른 매칭방")
-                            .groupTag(GroupTag.QUICK)
-                            .startTime(LocalDateTime.now())
-                            .endTime(LocalDateTime.now().plusDays(1))
-                            .currentParticipants(0)
-                            .maxParticipants(Integer.MAX_VALUE)
-                            .targetDistance(Long.MAX_VALUE)
-                             .activate(true)
-                            .build());
+        // 미리 만들어 둔 오늘 방으로 교체하고, 꺼진 방은 종료 처리. 교체 중에는 캐시의 이전 방에 참가하지 못한다
+        List<Long> finishedGroupIds = quickRunningGroupCache.replace(() -> quickRunningGroupRollover.rollover(LocalDate.now()));
+        groupSearchIndex.reload();
+        finishedGroupIds.forEach(this::finishLiveRunning);
+    }
+
+    @Scheduled(cron="0 55 23 * * *") // 자정 교체 전에 다음 날 방을 미리 만든다
+    @Override
+    public void prepareQuickRunningGroup() {
+        quickRunningGroupRollover.prepare(LocalDate.now().plusDays(1));
+    }
+
+    // 서버 시작 시 오늘 방이 활성화되어 있으면 그대로 쓰고, 없거나 지난 방이면 교체한다
+    @Override
+    public void initQuickRunningGroup() {
+        RunningGroup group = groupRepository.findByGroupTagAndActivateTrue(GroupTag.QUICK);
+        if(group == null || group.getStartTime().isBefore(LocalDate.now().atStartOfDay()))
+            autoCreateQuickRunningGroup();
+        else
+            quickRunningGroupCache.refresh();
     }
 
     @Override
@@ -165,122 +195,219 @@ public class RunningServiceImpl implements RunningService {
         if(optionalUser.isEmpty())
             throw new IllegalArgumentException("로그인이 필요한 서비스입니다.");
 
-        RunningGroup group = groupRepository.findByGroupTagAndActivateTrue(GroupTag.QUICK);
-        if(group == null)
-            throw new IllegalArgumentException("생성되어 있는 빠른 러닝방이 없습니다.");
+        QuickRunningGroupCache.Room room = quickRunningGroupCache.current()
+                .orElseThrow(() -> new IllegalArgumentException("생성되어 있는 빠른 러닝방이 없습니다."));
 
-        Record record = recordRepository.findByUserAndLeaderBoardGroup(optionalUser, group);
+        // 처음 참가하는 경우에만 기록을 만들고, 순위는 메모리의 참가자 수로 정한다
+        User user = optionalUser.get();
+        Record[] joined = {null};
+        Long recordId = room.participate(user.getUserId(), ranking -> {
+            joined[0] = joinQuickRunning(room.getGroupId(), user, ranking);
+            return joined[0].getRecordId();
+        });
 
-        if (record == null){
-            record = recordRepository.save(Record.builder().user(optionalUser.get())
-                .runningStartTime(LocalDate.now()).runningTime(Duration.ZERO).calories(0.0).distance(0L).build());
+        Record record = joined[0] != null ? joined[0] : recordRepository.findRecordByRecordId(recordId);
+        return new RunningDTO.ParticipateQuickRunningResponse(record);
+    }
 
-            Long ranking = Long.valueOf(leaderBoardRepository.findAllByGroup(group).size() + 1);
-            LeaderBoard leaderBoard = LeaderBoard.builder().group(group).record(record).currentRanking(ranking).preRanking(ranking).build();
-            leaderBoardRepository.save(leaderBoard);
+    private Record joinQuickRunning(Long groupId, User user, Long ranking){
+        // 정원이 없는 방이라 0 이면 그 사이 교체되어 꺼진 방
+        if(groupRepository.increaseParticipants(groupId) == 0)
+            throw new IllegalArgumentException("해당 러닝방은 종료되었습니다.");
+
+        try {
+            Record record = recordRepository.save(Record.builder().user(user)
+                    .runningStartTime(LocalDate.now()).runningTime(Duration.ZERO).calories(0.0).distance(0L).build());
 
-            group.participateGroup();
-            groupRepository.save(group);
+            LeaderBoard leaderBoard = LeaderBoard.builder().group(groupRepository.getReferenceById(groupId))
+                    .record(record).currentRanking(ranking).preRanking(ranking).build();
+            leaderBoardRepository.save(leaderBoard);
+            liveLeaderBoardManager.join(leaderBoard);
+            return record;
+        } catch (RuntimeException e) {
+            groupRepository.decreaseParticipants(groupId); // 참가 실패 시 자리 반환
+            throw e;
         }
-        return new RunningDTO.ParticipateQuickRunningResponse(record);
     }
 
+    // 종료 시각 타이머(GroupExpiryScheduler)가 놓친 방이 있을 때를 위한 점검
     @Override
-    @Scheduled(fixedRate = 5000) // 5초마다 반복. 60000 = 1분
+    @Scheduled(fixedDelayString = "${running.group.expiry-sweep-interval:600000}")
     public void deactivateRunningGroup() {
-        List<RunningGroup> runningGroups = groupRepository.findAllByEndTimeBeforeAndActivateTrue(LocalDateTime.now());
-        for (RunningGroup runningGroup : runningGroups) {
-            runningGroup.deactivate();
-            groupRepository.save(runningGroup);
-        }
+        List<Long> groupIds = groupRepository.findAllByEndTimeBeforeAndActivateTrue(LocalDateTime.now())
+                .stream().map(RunningGroup::getGroupId).toList();
+        if(!groupIds.isEmpty())
+            expireRunningGroups(groupIds);
+    }
+
+    @Override
+    public void expireRunningGroups(Collection<Long> groupIds) {
+        groupRepository.deactivateAllByGroupIdIn(groupIds);
+        groupIds.forEach(this::finishLiveRunning);
+        groupSearchIndex.removeAll(groupIds);
+        eventPublisher.publishEvent(new MainPageChangedEvent());
+    }
+
+    // 서버 시작 시 활성화된 방의 종료 시각을 등록. 빠른 매칭방은 자정 교체가 따로 처리한다.
+    @Override
+    public void scheduleGroupExpiries() {
+        groupRepository.findAllByActivateTrueAndGroupTagNot(GroupTag.QUICK)
+                .forEach(group -> groupExpiryScheduler.schedule(group.getGroupId(), group.getEndTime()));
     }
 
     @Override
-    @Transactional
     public RunningDTO.WhileRunningResponse whileRunning(RunningDTO.WhileRunningRequest request, Optional<User> optionalUser) {
         if(optionalUser.isEmpty())
             throw new IllegalArgumentException("로그인이 필요한 서비스 입니다.");
 
-        Record record = recordRepository.findById(request.getRecordId())
-                .orElseThrow(() -> new IllegalArgumentException("해당 기록을 찾을 수 없습니다."));
-
-        LeaderBoard userLeaderboard = leaderBoardRepository.findLeaderBoardByRecord(record);
-        if(userLeaderboard==null)
-            throw new IllegalArgumentException("해당하는 리더보드를 찾을 수 없습니다.");
+        if(request.getDistance() == null || request.getRunningTime() == null)
+            throw new IllegalArgumentException("거리와 러닝 시간을 입력해주세요.");
+
+        Long recordId = request.getRecordId();
+        LiveLeaderBoard board = liveLeaderBoardManager.findByRecordId(recordId)
+                .orElseGet(() -> runningLeaderBoard(recordId));
+        if(!board.userIdOf(recordId).equals(optionalUser.get().getUserId()))
+            throw new IllegalArgumentException("본인의 기록만 갱신할 수 있습니다.");
+
+        // 기록은 write-behind 버퍼에, 순위는 내 순위만 O(log n)으로 갱신. DB 반영은 각각 모아서 처리
+        recordProgressBuffer.put(recordId, request.getDistance(), request.getRunningTime(), optionalUser.get().getUserWeight());
+        if(!board.hasBestDistance(recordId))
+            board.initBestDistance(recordId, bestDistance(board.userIdOf(recordId)));
+        LiveLeaderBoard.Standing standing = board.update(recordId, request.getDistance());
+        leaderBoardStreamPublisher.publish(board, standing);
+        return RunningDTO.WhileRunningResponse.of(board.window(recordId), recordId, standing.getRankChange());
+    }
 
-        RunningGroup group = userLeaderboard.getGroup();
+    @Override
+    public SseEmitter subscribeLeaderboard(Long recordId, Optional<User> optionalUser) {
+        if(optionalUser.isEmpty())
+            throw new IllegalArgumentException("로그인이 필요한 서비스 입니다.");
 
-        record.updateRecord(request.getDistance(), request.getRunningTime());
-        recordRepository.save(record);
+        // 다른 사람의 기록으로 구독하면 그 사람의 기존 구독이 끊기므로 본인 기록인지 먼저 확인한다
+        Record record = recordRepository.findById(recordId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 기록을 찾을 수 없습니다."));
+        Long userId = optionalUser.get().getUserId();
+        if(!record.getUser().getUserId().equals(userId))
+            throw new IllegalArgumentException("본인의 기록만 구독할 수 있습니다.");
 
-        List<LeaderBoard> newLeaderboard = sortByDistance(leaderBoardRepository.findAllByGroup(group));
+        LiveLeaderBoard board = liveLeaderBoard(record);
+        if(liveLeaderBoardManager.findByGroupId(board.getGroupId()).isEmpty())
+            throw new IllegalArgumentException("해당 러닝방은 종료되었습니다.");
 
-        String rankChange = compareRanking(userLeaderboard);
-        Long new_rank = leaderBoardRepository.findLeaderBoardByRecord(record).getCurrentRanking();
-        return whileRunningResponse(newLeaderboard, new_rank, rankChange);
+        return leaderBoardStreamPublisher.subscribe(board, recordId, userId);
     }
 
+    // 러닝방 종료 : 남은 기록과 순위를 DB 에 반영하고 메모리에서 내린다
+    private void finishLiveRunning(Long groupId){
+        liveLeaderBoardManager.findByGroupId(groupId)
+                .ifPresent(board -> recordProgressBuffer.flush(board.recordIds()));
+        liveLeaderBoardManager.evict(groupId);
+        leaderBoardStreamPublisher.close(groupId);
+        userStatsService.applyFinishedGroup(groupId);
+    }
 
-    public String generateTTSMessage(Long recordId, Optional<User> optionalUser){
-        Record record = recordRepository.findRecordByRecordId(recordId);
-        LeaderBoard userLeaderBoard = leaderBoardRepository.findLeaderBoardByRecord(record);
-        List<LeaderBoard> newLeaderboard = leaderBoardRepository.findAllByGroup(userLeaderBoard.getGroup());
-        List<Record> records = new ArrayList<>();
-        for (LeaderBoard leaderBoard : newLeaderboard) {
-            records.add(leaderBoard.getRecord());
-        }
-        records.sort((r1, r2) -> Double.compare(r2.getDistance(), r1.getDistance()));
+    // 메모리에 없는 기록이면 DB 에서 읽는다. 종료된 방이나 통계에 반영된 기록은 더 이상 갱신받지 않는다
+    private LiveLeaderBoard runningLeaderBoard(Long recordId){
+        Record record = recordRepository.findById(recordId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 기록을 찾을 수 없습니다."));
+        if(record.getStatsApplied())
+            throw new IllegalArgumentException("해당 러닝방은 종료되었습니다.");
+        return liveLeaderBoard(record);
+    }
 
-        String rankChange = compareRanking(userLeaderBoard);
-        Long currentDistance = record.getDistance();
-        Long new_rank = userLeaderBoard.getCurrentRanking();
+    private LiveLeaderBoard liveLeaderBoard(Record record){
+        return liveLeaderBoardManager.findByRecordId(record.getRecordId()).orElseGet(() -> {
+            LeaderBoard userLeaderboard = leaderBoardRepository.findLeaderBoardByRecord(record);
+            if(userLeaderboard==null)
+                throw new IllegalArgumentException("해당하는 리더보드를 찾을 수 없습니다.");
+            return liveLeaderBoardManager.attach(userLeaderboard);
+        });
+    }
 
-        Long userBestRecord = 0L;
-        Record bestRecord = recordRepository.findRecordByUserOrderByDistanceDesc(optionalUser.get()).get(0);
 
-        if(bestRecord != null)
-            userBestRecord = bestRecord.getDistance();
+    public String generateTTSMessage(Long recordId, Optional<User> optionalUser){
+        if(optionalUser.isEmpty())
+            throw new IllegalArgumentException("로그인이 필요한 서비스입니다.");
 
-        if (currentDistance >= userBestRecord) {
-            return "현재 러닝 최고 기록 갱신 중 입니다. 현재 " + currentDistance + "미터 입니다.";
+        // 러닝 중이면 마지막 갱신 때 만들어 둔 문장을 그대로 돌려준다
+        Optional<LiveLeaderBoard> board = liveLeaderBoardManager.findByRecordId(recordId);
+        if(board.isPresent()){
+            Optional<String> message = board.get().ttsMessage(recordId);
+            if(message.isPresent())
+                return message.get();
         }
 
-        if(rankChange.equals("up")) {
-            int userIndex = new_rank.intValue()-1;
-            Long userDistance = records.get(userIndex).getDistance();
-            if(userIndex == 0) {
-                return "현재 " + userDistance + "미터로 1등이 되었습니다! 선두를 유지하세요.";
-            }
-            Long leadingDistance = records.get(userIndex - 1).getDistance();
-            long distanceGap = leadingDistance - userDistance;
-            return new_rank + "등이 되었습니다. " + (new_rank - 1) + "등과 " + distanceGap + "미터 차이 입니다.";
+        Record record = recordRepository.findRecordByRecordId(recordId);
+        if(record == null)
+            throw new IllegalArgumentException("해당 기록을 찾을 수 없습니다.");
+
+        LeaderBoard userLeaderBoard = null;
+        if(board.isEmpty()){
+            userLeaderBoard = leaderBoardRepository.findLeaderBoardByRecord(record);
+            if(userLeaderBoard == null)
+                throw new IllegalArgumentException("해당하는 리더보드를 찾을 수 없습니다.");
+            board = attachIfRunning(record, userLeaderBoard);
         }
-        else if(rankChange.equals("same")){
-            int userIndex = new_rank.intValue()-1;
-            Long userDistance = records.get(userIndex).getDistance();
-            if(userIndex == 0){
-                if(newLeaderboard.size() > 1)
-                    return "현재 1등으로 선두입니다. 2등과는 " + (userDistance - records.get(userIndex + 1).getDistance()) + "미터 차이입니다.";
-                else
-                    return "현재 1등으로 선두입니다.";
-            }
-            else{
-                return "현재 " + new_rank + "등 입니다. " + (new_rank-1) + "등과는 " + (records.get(userIndex - 1).getDistance() - userDistance) + "미터 차이입니다.";
-            }
+
+        // 내 위, 나, 내 아래 3줄만 있으면 되므로 러닝방 전체를 읽지 않는다
+        List<RankedRunner> window;
+        String rankChange;
+        if(board.isPresent()){
+            window = board.get().window(recordId);
+            rankChange = board.get().rankChange(recordId);
         }
         else{
-            return "현재 " + new_rank + "등이 되었습니다.";
+            window = leaderBoardWindow(recordId);
+            rankChange = compareRanking(userLeaderBoard);
         }
+
+        int userIndex = indexOf(window, recordId);
+        Long currentDistance = recordProgressBuffer.find(recordId)
+                .map(RecordProgressBuffer.Progress::getDistance)
+                .orElse(window.get(userIndex).getDistance());
+        Long leadingDistance = userIndex > 0 ? window.get(userIndex - 1).getDistance() : null;
+        Long followingDistance = userIndex < window.size() - 1 ? window.get(userIndex + 1).getDistance() : null;
+
+        return CoachingMessage.of(window.get(userIndex).getRanking(), rankChange, currentDistance,
+                leadingDistance, followingDistance, bestDistance(optionalUser.get().getUserId()));
     }
-    private List<LeaderBoard> sortByDistance(List<LeaderBoard> records){
-        if (!records.isEmpty()) {
-            records.sort(Comparator.comparing((LeaderBoard r) -> r.getRecord().getDistance()).reversed());
-        }
-        for(int i = 1; i<= records.size(); i++){
-            records.get(i-1).updateRanking(Long.valueOf(i));
+
+    // 종료된 러닝 기록 중 최고 거리. 누적 통계에서 바로 읽는다
+    private Long bestDistance(Long userId){
+        return userStatsService.findStats(userId).getBestDistance();
+    }
+
+    // 진행 중인 러닝방인데 메모리에 없으면(재시작 직후 등) DB 의 순위는 최신 거리와 다를 수 있으므로,
+    // whileRunning 처럼 메모리에 올려서 거리 기준 순위로 답한다. 종료된 러닝방은 종료 때 반영된 순위가 최종이다
+    private Optional<LiveLeaderBoard> attachIfRunning(Record record, LeaderBoard leaderBoard){
+        if(record.getStatsApplied() || leaderBoard.getGroup().getActivate().equals(false))
+            return Optional.empty();
+        return Optional.of(liveLeaderBoardManager.attach(leaderBoard));
+    }
+
+    // 종료된 러닝방 : DB 에 반영된 최종 순위 기준으로 내 주변 최대 5명(rank-2 ~ rank+2)을 한 번에 읽어 화면에 보여줄 3줄을 고른다
+    private List<RankedRunner> leaderBoardWindow(Long recordId){
+        List<RankedRunner> rows = leaderBoardRepository.findWindowByRecordId(recordId, 2L);
+        if(rows.size() <= 3)
+            return rows;
+
+        int index = indexOf(rows, recordId);
+        if(index == 0)
+            return rows.subList(0, 3);
+        else if(index == rows.size() - 1)
+            return rows.subList(rows.size() - 3, rows.size());
+        else
+            return rows.subList(index - 1, index + 2);
+    }
+
+    private int indexOf(List<RankedRunner> window, Long recordId){
+        for (int i = 0; i < window.size(); i++) {
+            if(window.get(i).getRecordId().equals(recordId))
+                return i;
         }
-        return leaderBoardRepository.saveAll(records);
+        throw new IllegalArgumentException("해당하는 리더보드를 찾을 수 없습니다.");
     }
+
     private String compareRanking(LeaderBoard leaderBoard){
         if(leaderBoard.getPreRanking() > leaderBoard.getCurrentRanking())
             return "up";
@@ -290,40 +417,6 @@ public class RunningServiceImpl implements RunningService {
             return "same";
     }
 
-    private RunningDTO.WhileRunningResponse whileRunningResponse(List<LeaderBoard> newLeaderboard, Long new_rank, String rankChange){
-        List<RunningDTO.WhileRunningLeaderboardResponse> response = new ArrayList<>();
-        int tail = newLeaderboard.size();
-        if(newLeaderboard.size() < 3) { 
-            // 참가 인원 3명이하일 때, 기존 리더보드 + 더미데이터 추가
-            for (LeaderBoard leaderBoard : newLeaderboard) {
-                response.add(new RunningDTO.WhileRunningLeaderboardResponse(leaderBoard, new_rank, rankChange));
-            }
-
-            for (int i = 1; i <= 3 - newLeaderboard.size(); i++) {
-                response.add(new RunningDTO.WhileRunningLeaderboardResponse("-", Long.valueOf(tail + i), false, "same", 0.0));
-            }
-        }
-        else{
-            // 3명 이상일때
-            if(new_rank.equals(1L)){ // 1등이면 1,2,3등
-                for (LeaderBoard leaderBoard : newLeaderboard.subList(0, 3)) {
-                    response.add(new RunningDTO.WhileRunningLeaderboardResponse(leaderBoard, new_rank, rankChange));
-                }
-            }
-            else if(new_rank.intValue() ==  newLeaderboard.size()){ // 꼴등이면 뒤에서 3, 2, 1등
-                for (LeaderBoard leaderBoard : newLeaderboard.subList(tail-3, tail)){
-                    response.add(new RunningDTO.WhileRunningLeaderboardResponse(leaderBoard, new_rank, rankChange));
-                }
-            }
-            else{ // 나머진 위 나 아래
-                int index = new_rank.intValue() - 1;
-                response.add(new RunningDTO.WhileRunningLeaderboardResponse(newLeaderboard.get(index-1), new_rank-1, "same"));
-                response.add(new RunningDTO.WhileRunningLeaderboardResponse(newLeaderboard.get(index), new_rank, rankChange));
-                response.add(new RunningDTO.WhileRunningLeaderboardResponse(newLeaderboard.get(index+1), new_rank+1, "same"));
-            }
-        }
-        return RunningDTO.WhileRunningResponse.builder().leaderboardResponseList(response).build();
-    }
     @Override
     public List<RunningDTO.LeaderboardResponse> leaderboard(Long recordId, Optional<User> optionalUser) {
         if(optionalUser.isEmpty())
@@ -333,21 +426,46 @@ public class RunningServiceImpl implements RunningService {
         if(record == null)
             throw new IllegalArgumentException("해당 리더보드를 찾을 수 없습니다.");
 
-        RunningGroup group = leaderBoardRepository.findLeaderBoardByRecord(record).getGroup();
-        if(group == null)
+        Optional<LiveLeaderBoard> board = liveLeaderBoardManager.findByRecordId(recordId);
+        if(board.isPresent())
+            return leaderboardResponse(board.get().standings(), optionalUser.get());
+
+        LeaderBoard userLeaderBoard = leaderBoardRepository.findLeaderBoardByRecord(record);
+        if(userLeaderBoard == null || userLeaderBoard.getGroup() == null)
             throw new IllegalArgumentException("해당 리더보드를 찾을 수 없습니다.");
+        board = attachIfRunning(record, userLeaderBoard);
+        if(board.isPresent())
+            return leaderboardResponse(board.get().standings(), optionalUser.get());
+
+        RunningGroup group = userLeaderBoard.getGroup();
 
         List<LeaderBoard> allRecord = leaderBoardRepository.findAllByGroupOrderByCurrentRankingAsc(group);
         if(allRecord.isEmpty())
             throw new IllegalArgumentException("해당 러닝방에 참가한 기록이 없습니다.");
 
         List<RunningDTO.LeaderboardResponse> leaderboardResponses = new ArrayList<>();
+        // 세션 사용자는 캐시된 준영속 객체라 같은 인스턴스가 아니므로 id 로 비교한다
+        Long userId = optionalUser.get().getUserId();
         for (LeaderBoard leaderBoard : allRecord) {
-            boolean yourRecord = false;
-            if(leaderBoard.getRecord().getUser().equals(optionalUser.get())) yourRecord = true;
+            boolean yourRecord = leaderBoard.getRecord().getUser().getUserId().equals(userId);
             leaderboardResponses.add(new RunningDTO.LeaderboardResponse(leaderBoard, yourRecord));
         }
 
+        return fillLeaderboard(leaderboardResponses);
+    }
+
+    private List<RunningDTO.LeaderboardResponse> leaderboardResponse(List<RankedRunner> standings, User user) {
+        if(standings.isEmpty())
+            throw new IllegalArgumentException("해당 러닝방에 참가한 기록이 없습니다.");
+
+        List<RunningDTO.LeaderboardResponse> leaderboardResponses = new ArrayList<>();
+        for (RankedRunner runner : standings) {
+            leaderboardResponses.add(new RunningDTO.LeaderboardResponse(runner, runner.getUserId().equals(user.getUserId())));
+        }
+        return fillLeaderboard(leaderboardResponses);
+    }
+
+    private List<RunningDTO.LeaderboardResponse> fillLeaderboard(List<RunningDTO.LeaderboardResponse> leaderboardResponses) {
         int size = leaderboardResponses.size();
         if(size < 3){
             for(int i = 0; i < 3- size; i++){
@@ -359,7 +477,7 @@ public class RunningServiceImpl implements RunningService {
 
     @Override
     public List<RunningDTO.MainPageGroupResponse> mainPageGroups() {
-        List<RunningGroup> groupList = groupRepository.findAllByActivateTrueAndGroupTagNot(GroupTag.QUICK);
-        return groupList.stream().limit(6).map(RunningDTO.MainPageGroupResponse::new).toList();
+        List<RunningGroup> groupList = groupRepository.findTop6ByActivateTrueAndGroupTagNotOrderByStartTimeAsc(GroupTag.QUICK);
+        return groupList.stream().map(RunningDTO.MainPageGroupResponse::new).toList();
     }
 }
@@ -1,5 +1,6 @@
 package RunningMate.backend.domain.user.controller;
 
+import RunningMate.backend.domain.user.dto.RecordRange;
 import RunningMate.backend.domain.user.dto.UserDTO;
 import RunningMate.backend.domain.user.entity.User;
 import RunningMate.backend.domain.user.service.UserService;
@@ -128,16 +129,17 @@ public class UserController {
     }
 
     @GetMapping("/records")
-    @Operation(summary = "사용자의 운동 기록 확인", description = "사용자의 운동 기록을 확인한다")
+    @Operation(summary = "사용자의 운동 기록 확인", description = "사용자의 운동 기록을 기간(WEEK, MONTH, YEAR)별로 확인한다")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "조회 완료"),
             @ApiResponse(responseCode = "204", description = "운동 기록이 없음"),
             @ApiResponse(responseCode = "403", description = "조회 권한이 없음")
     })
-    public ResponseEntity<?> viewMyRecords(HttpSession session) {
+    public ResponseEntity<?> viewMyRecords(HttpSession session,
+                                           @RequestParam(value = "range", defaultValue = "WEEK") RecordRange range) {
         try {
             Optional<User> optionalUser = sessionUtils.getUserFromSession(session);
-            List<UserDTO.MyRecordResponse> myRecords = userService.viewMyRecord(optionalUser);
+            List<UserDTO.MyRecordResponse> myRecords = userService.viewMyRecord(optionalUser, range);
 
             if (myRecords.isEmpty()) {
                 return ResponseEntity.noContent().build();
@@ -0,0 +1,15 @@
+package RunningMate.backend.domain.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+// 하루 합계 조회용 projection
+@Getter
+@AllArgsConstructor
+public class DailyTotal {
+    private LocalDate date;
+    private Long distance;
+    private Double calories;
+}
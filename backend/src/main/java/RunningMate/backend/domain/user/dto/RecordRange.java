@@ -0,0 +1,32 @@
+package RunningMate.backend.domain.user.dto;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// 기록 차트 기간. WEEK, MONTH 는 하루 단위, YEAR 는 한 달 단위로 묶는다.
+public enum RecordRange {
+    WEEK(7, ChronoUnit.DAYS),
+    MONTH(30, ChronoUnit.DAYS),
+    YEAR(12, ChronoUnit.MONTHS);
+
+    private final int length;
+    private final ChronoUnit unit;
+
+    RecordRange(int length, ChronoUnit unit) {
+        this.length = length;
+        this.unit = unit;
+    }
+
+    public LocalDate startDate(LocalDate endDate) {
+        return bucketOf(endDate).minus(length - 1, unit);
+    }
+
+    // 날짜가 속한 칸의 첫날
+    public LocalDate bucketOf(LocalDate date) {
+        return unit == ChronoUnit.MONTHS ? date.withDayOfMonth(1) : date;
+    }
+
+    public LocalDate nextBucket(LocalDate bucket) {
+        return bucket.plus(1, unit);
+    }
+}
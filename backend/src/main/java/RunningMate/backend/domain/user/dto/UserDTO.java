@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -40,6 +41,12 @@ public class UserDTO {
         private String userNickname;
         private Long userWeight;
         private Long userHeight;
+        private Long bestDistance;
+        private Long bestPace; // 1km 당 초, 1km 이상 달린 기록이 없으면 null
+        private Long totalDistance;
+        private Duration totalRunningTime;
+        private Double totalCalories;
+        private Long runCount;
     }
 
     @Getter
@@ -71,8 +78,8 @@ public class UserDTO {
     public static class MyRecordResponse { // 날짜, 거리, 일주일 거리 총합
         private LocalDateTime recordDate;
         private Double dailyDistance;
-        private Double weekDistance; // 총 거리
-        private Double weekCalories; // 총 칼로리
+        private Double weekDistance; // 기간 누적 거리 (기존 앱 호환으로 이름 유지)
+        private Double weekCalories; // 기간 누적 칼로리
 
         public MyRecordResponse(Record record) {
             this.recordDate = record.getRunningStartTime().atStartOfDay(); // LocalDate to LocalDateTime
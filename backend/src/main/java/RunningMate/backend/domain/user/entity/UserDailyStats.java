@@ -0,0 +1,57 @@
+package RunningMate.backend.domain.user.entity;
+
+import RunningMate.backend.domain.running.entity.Record;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+// 사용자별 하루 합계. 주간 기록 화면은 여기서 읽는다.
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_user_daily_stats_user_date", columnNames = {"userId", "statDate"}))
+public class UserDailyStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long dailyStatsId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDate statDate;
+
+    @Column(nullable = false)
+    private Long distance;
+
+    @Column(nullable = false)
+    private Double calories;
+
+    @Column(nullable = false)
+    private Duration runningTime;
+
+    @Column(nullable = false)
+    private Long runCount;
+
+    public static UserDailyStats empty(Long userId, LocalDate statDate){
+        return UserDailyStats.builder()
+                .userId(userId)
+                .statDate(statDate)
+                .distance(0L)
+                .calories(0.0)
+                .runningTime(Duration.ZERO)
+                .runCount(0L)
+                .build();
+    }
+
+    public void apply(Record record){
+        this.distance += record.getDistance();
+        this.calories += record.getCalories();
+        this.runningTime = this.runningTime.plus(record.getRunningTime());
+        this.runCount += 1;
+    }
+}
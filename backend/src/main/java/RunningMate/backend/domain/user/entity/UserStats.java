@@ -0,0 +1,95 @@
+package RunningMate.backend.domain.user.entity;
+
+import RunningMate.backend.domain.running.entity.Record;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Duration;
+
+// 사용자별 누적 기록. 러닝방이 종료되어 확정된 기록만 더해진다.
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class UserStats implements Persistable<Long> {
+    private static final long PACE_MIN_DISTANCE = 1000L; // 너무 짧은 기록은 페이스 계산에서 제외
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long bestDistance;
+
+    private Long bestPace; // 1km 당 초
+
+    @Column(nullable = false)
+    private Long totalDistance;
+
+    @Column(nullable = false)
+    private Duration totalRunningTime;
+
+    @Column(nullable = false)
+    private Double totalCalories;
+
+    @Column(nullable = false)
+    private Long runCount;
+
+    @ColumnDefault("true")
+    @Column(nullable = false)
+    private Boolean backfilled; // 처음 만들 때 그동안 종료된 기록을 채웠는지
+
+    // id 를 직접 넣는 엔티티라 save 가 merge(SELECT 후 UPDATE)로 빠지지 않고 INSERT 하도록 한다. 이미 있으면 키 중복으로 실패한다
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public Long getId() {
+        return userId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public static UserStats empty(Long userId){
+        return UserStats.builder()
+                .userId(userId)
+                .bestDistance(0L)
+                .totalDistance(0L)
+                .totalRunningTime(Duration.ZERO)
+                .totalCalories(0.0)
+                .runCount(0L)
+                .backfilled(false)
+                .build();
+    }
+
+    public void markBackfilled(){
+        this.backfilled = true;
+    }
+
+    public void apply(Record record){
+        this.bestDistance = Math.max(this.bestDistance, record.getDistance());
+        this.totalDistance += record.getDistance();
+        this.totalRunningTime = this.totalRunningTime.plus(record.getRunningTime());
+        this.totalCalories += record.getCalories();
+        this.runCount += 1;
+
+        long seconds = record.getRunningTime().getSeconds();
+        if(record.getDistance() >= PACE_MIN_DISTANCE && seconds > 0){
+            long pace = seconds * 1000 / record.getDistance();
+            if(this.bestPace == null || pace < this.bestPace)
+                this.bestPace = pace;
+        }
+    }
+}
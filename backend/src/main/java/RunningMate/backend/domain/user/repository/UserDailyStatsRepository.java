@@ -0,0 +1,23 @@
+package RunningMate.backend.domain.user.repository;
+
+import RunningMate.backend.domain.user.dto.DailyTotal;
+import RunningMate.backend.domain.user.entity.UserDailyStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserDailyStatsRepository extends JpaRepository<UserDailyStats, Long> {
+    // 잠금 조회라서 먼저 반영한 트랜잭션이 만든 행도 보인다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<UserDailyStats> findWithLockByUserIdAndStatDate(Long userId, LocalDate statDate);
+
+    @Query("select new RunningMate.backend.domain.user.dto.DailyTotal(d.statDate, d.distance, d.calories) " +
+            "from UserDailyStats d where d.userId = :userId and d.statDate between :startDate and :endDate")
+    List<DailyTotal> findDailyTotals(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
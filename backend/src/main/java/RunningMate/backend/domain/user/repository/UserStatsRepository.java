@@ -0,0 +1,13 @@
+package RunningMate.backend.domain.user.repository;
+
+import RunningMate.backend.domain.user.entity.UserStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.util.Optional;
+
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<UserStats> findWithLockByUserId(Long userId);
+}
@@ -1,5 +1,6 @@
 package RunningMate.backend.domain.user.service;
 
+import RunningMate.backend.domain.user.dto.RecordRange;
 import RunningMate.backend.domain.user.dto.UserDTO;
 import RunningMate.backend.domain.user.entity.User;
 
@@ -12,6 +13,6 @@ public interface UserService {
     UserDTO.GetProfileResponse profile(Optional<User> optionalUser);
     User updateProfile(UserDTO.UpdateProfileRequest request, Optional<User> optionalUser);
     List<UserDTO.MyPostResponse> viewMyPost(Optional<User> user);
-    List<UserDTO.MyRecordResponse> viewMyRecord(Optional<User> user);
+    List<UserDTO.MyRecordResponse> viewMyRecord(Optional<User> user, RecordRange range);
     void logout(Optional<User> optionalUser);
 }
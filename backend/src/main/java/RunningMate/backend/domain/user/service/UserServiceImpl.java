@@ -2,10 +2,16 @@ package RunningMate.backend.domain.user.service;
 
 import RunningMate.backend.domain.running.entity.Record;
 import RunningMate.backend.domain.running.repository.RecordRepository;
+import RunningMate.backend.domain.user.dto.DailyTotal;
+import RunningMate.backend.domain.user.dto.RecordRange;
 import RunningMate.backend.domain.user.dto.UserDTO;
 import RunningMate.backend.domain.user.entity.User;
+import RunningMate.backend.domain.user.entity.UserStats;
+import RunningMate.backend.domain.user.repository.UserDailyStatsRepository;
 import RunningMate.backend.domain.user.repository.UserRepository;
 import RunningMate.backend.domain.community.entity.Post;
+import RunningMate.backend.domain.community.repository.PostRepository;
+import RunningMate.backend.domain.authorization.SessionUserCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,10 +21,10 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -26,6 +32,10 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService{
     private final UserRepository userRepository;
     private final RecordRepository recordRepository;
+    private final UserDailyStatsRepository userDailyStatsRepository;
+    private final UserStatsService userStatsService;
+    private final PostRepository postRepository;
+    private final SessionUserCache sessionUserCache;
 
     @Override
     public User signUp(UserDTO.SignUpRequest request) {
@@ -66,10 +76,17 @@ public class UserServiceImpl implements UserService{
             throw new IllegalArgumentException("로그인이 필요한 서비스입니다.");
 
         User user = optionalUser.get();
+        UserStats stats = userStatsService.findStats(user.getUserId());
         return UserDTO.GetProfileResponse.builder()
                         .userNickname(user.getUserNickname())
                         .userHeight(user.getUserHeight())
                         .userWeight(user.getUserWeight())
+                        .bestDistance(stats.getBestDistance())
+                        .bestPace(stats.getBestPace())
+                        .totalDistance(stats.getTotalDistance())
+                        .totalRunningTime(stats.getTotalRunningTime())
+                        .totalCalories(stats.getTotalCalories())
+                        .runCount(stats.getRunCount())
                         .build();
     }
 
@@ -86,9 +103,15 @@ public class UserServiceImpl implements UserService{
         Long userHeight = request.getUserHeight();
         Long userWeight = request.getUserWeight();
 
-        User user = optionalUser.get();
+        // 캐시된 세션 사용자는 다른 요청과 같이 쓰므로 고치지 않는다. 먼저 비우고 DB 에서 새로 읽은 객체를 고친다
+        Long userId = optionalUser.get().getUserId();
+        sessionUserCache.evict(userId);
+        User user = userRepository.findUserByUserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
         user.updateProfile(userNickname, userWeight, userHeight);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        sessionUserCache.evict(userId); // 그 사이 다른 요청이 예전 값을 다시 캐시했을 수 있다
+        return saved;
     }
 
     @Override
@@ -97,7 +120,8 @@ public class UserServiceImpl implements UserService{
             throw new IllegalArgumentException("로그인이 필요한 서비스입니다.");
         }
 
-        List<Post> posts = user.get().getPostList();
+        // 세션 사용자는 캐시된 준영속 객체라 postList 를 지연 로딩할 수 없다
+        List<Post> posts = postRepository.findAllByUserUserId(user.get().getUserId());
 
         return posts.stream()
                 .map(post -> {
@@ -118,39 +142,43 @@ public class UserServiceImpl implements UserService{
     }
 
     @Override
-    public List<UserDTO.MyRecordResponse> viewMyRecord(Optional<User> user) {
+    public List<UserDTO.MyRecordResponse> viewMyRecord(Optional<User> user, RecordRange range) {
         if (user.isEmpty())
             throw new IllegalArgumentException("로그인이 필요한 서비스입니다.");
 
-        List<Record> userRecords = recordRepository.findAllByUser(user);
+        Long userId = user.get().getUserId();
+        userStatsService.findStats(userId); // 처음이면 지난 기록으로 일별 합계를 채운다
 
-        // 오늘 날짜 기준으로 지난 7일 데이터를 필터링
+        // 오늘 날짜 기준으로 기간 안의 하루 합계만 DB 에서 읽는다
         LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(6); // 7일 전 시작
+        LocalDate startDate = range.startDate(endDate);
+
+        // 종료된 기록은 일별 합계에서, 아직 진행 중인 러닝방 기록은 Record 에서 더한다
+        List<DailyTotal> dailyTotals = new ArrayList<>(userDailyStatsRepository.findDailyTotals(userId, startDate, endDate));
+        dailyTotals.addAll(recordRepository.findPendingDailyTotals(userId, startDate, endDate));
 
-        Map<LocalDate, List<Record>> groupedRecords = userRecords.stream()
-                .filter(record -> !record.getRunningStartTime().isBefore(startDate) &&
-                        !record.getRunningStartTime().isAfter(endDate))
-                .collect(Collectors.groupingBy(Record::getRunningStartTime));
+        Map<LocalDate, Double> distanceByBucket = new HashMap<>();
+        Map<LocalDate, Double> caloriesByBucket = new HashMap<>();
+        for (DailyTotal daily : dailyTotals) {
+            distanceByBucket.merge(range.bucketOf(daily.getDate()), (double) daily.getDistance(), Double::sum);
+            caloriesByBucket.merge(range.bucketOf(daily.getDate()), daily.getCalories(), Double::sum);
+        }
 
         List<UserDTO.MyRecordResponse> responses = new ArrayList<>();
         double totalDistance = 0;
         double totalCalories = 0;
 
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            List<Record> dailyRecords = groupedRecords.getOrDefault(date, new ArrayList<>());
-
-            // 하루 동안의 거리와 칼로리 계산
-            Double dailyDistance = dailyRecords.stream().mapToLong(Record::getDistance).sum() / 1000.0;
-            Double dailyCalories = dailyRecords.stream().mapToDouble(Record::getCalories).sum();
+        for (LocalDate bucket = startDate; !bucket.isAfter(endDate); bucket = range.nextBucket(bucket)) {
+            // 하루(YEAR 는 한 달) 동안의 거리와 칼로리
+            Double dailyDistance = distanceByBucket.getOrDefault(bucket, 0.0) / 1000.0;
+            Double dailyCalories = caloriesByBucket.getOrDefault(bucket, 0.0);
 
             // 누적 거리 및 칼로리
             totalDistance += dailyDistance;
             totalCalories += dailyCalories;
 
-            // 하루 기록 응답 생성
             responses.add(UserDTO.MyRecordResponse.builder()
-                    .recordDate(date.atStartOfDay())
+                    .recordDate(bucket.atStartOfDay())
                     .dailyDistance(dailyDistance)
                     .weekDistance(totalDistance)
                     .weekCalories(totalCalories)
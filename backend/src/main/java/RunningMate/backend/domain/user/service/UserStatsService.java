@@ -0,0 +1,8 @@
+package RunningMate.backend.domain.user.service;
+
+import RunningMate.backend.domain.user.entity.UserStats;
+
+public interface UserStatsService {
+    void applyFinishedGroup(Long groupId);
+    UserStats findStats(Long userId);
+}
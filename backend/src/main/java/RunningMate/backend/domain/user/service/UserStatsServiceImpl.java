@@ -0,0 +1,77 @@
+package RunningMate.backend.domain.user.service;
+
+import RunningMate.backend.domain.running.entity.Record;
+import RunningMate.backend.domain.running.repository.RecordRepository;
+import RunningMate.backend.domain.user.entity.UserDailyStats;
+import RunningMate.backend.domain.user.entity.UserStats;
+import RunningMate.backend.domain.user.repository.UserDailyStatsRepository;
+import RunningMate.backend.domain.user.repository.UserStatsRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UserStatsServiceImpl implements UserStatsService {
+    private final UserStatsRepository userStatsRepository;
+    private final UserDailyStatsRepository userDailyStatsRepository;
+    private final RecordRepository recordRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // 종료된 러닝방의 기록을 참가자별 누적/일별 합계에 더한다. 이미 더한 기록은 statsApplied 로 건너뛴다.
+    @Override
+    @Transactional
+    public void applyFinishedGroup(Long groupId) {
+        for (Record record : recordRepository.findAllWithUserByLeaderBoardGroupGroupIdAndStatsAppliedFalse(groupId))
+            apply(lockStats(record.getUser().getUserId()), record);
+    }
+
+    @Override
+    @Transactional
+    public UserStats findStats(Long userId) {
+        return userStatsRepository.findById(userId).orElseGet(() -> lockStats(userId));
+    }
+
+    // 누적 행을 잠가서 가져온다. 같은 사용자의 반영은 이 잠금으로 줄을 세운다.
+    // 처음이면 행을 만들고, 지금까지 종료된 기록으로 한 번만 채운다
+    private UserStats lockStats(Long userId) {
+        if (!userStatsRepository.existsById(userId))
+            create(userId);
+
+        UserStats stats = userStatsRepository.findWithLockByUserId(userId).orElseThrow();
+        if (!stats.getBackfilled()) {
+            for (Record record : recordRepository.findAllByUserUserIdAndStatsAppliedFalseAndLeaderBoardGroupActivateFalse(userId))
+                apply(stats, record);
+            stats.markBackfilled();
+        }
+        return stats;
+    }
+
+    // 별도 트랜잭션에서 빈 행을 만든다. 동시에 처음 조회해서 먼저 만든 쪽이 있으면 (키 중복) 그 행을 쓴다
+    private void create(Long userId) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status -> userStatsRepository.saveAndFlush(UserStats.empty(userId)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("이미 만들어진 누적 기록 사용 (userId={})", userId);
+        }
+    }
+
+    // 기록을 조건부 UPDATE 로 먼저 표시해서, 여러 경로에서 동시에 반영해도 한 번만 더해진다
+    private void apply(UserStats stats, Record record) {
+        if (recordRepository.markStatsApplied(record.getRecordId()) == 0)
+            return;
+
+        stats.apply(record);
+        userDailyStatsRepository.findWithLockByUserIdAndStatDate(stats.getUserId(), record.getRunningStartTime())
+                .orElseGet(() -> userDailyStatsRepository.save(UserDailyStats.empty(stats.getUserId(), record.getRunningStartTime())))
+                .apply(record);
+    }
+}
@@ -0,0 +1,61 @@
+package RunningMate.backend.domain.authorization;
+
+import RunningMate.backend.domain.user.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionUserCacheTest {
+
+	@Test
+	void loadsOnceUntilEvicted() {
+		SessionUserCache cache = new SessionUserCache(10, 300);
+		AtomicInteger loads = new AtomicInteger();
+		Function<Long, Optional<User>> loader = userId -> {
+			loads.incrementAndGet();
+			return Optional.of(User.builder().userId(userId).userNickname("runner").build());
+		};
+
+		cache.get(1L, loader);
+		cache.get(1L, loader);
+		assertThat(loads.get()).isEqualTo(1);
+
+		cache.evict(1L);
+		cache.get(1L, loader);
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+	@Test
+	void keepsOnlyMaxSizeUsers() {
+		SessionUserCache cache = new SessionUserCache(2, 300);
+		AtomicInteger loads = new AtomicInteger();
+		Function<Long, Optional<User>> loader = userId -> {
+			loads.incrementAndGet();
+			return Optional.of(User.builder().userId(userId).build());
+		};
+
+		cache.get(1L, loader);
+		cache.get(2L, loader);
+		cache.get(3L, loader); // 가장 오래 안 쓴 1번이 빠진다
+		cache.get(1L, loader);
+		assertThat(loads.get()).isEqualTo(4);
+	}
+
+	@Test
+	void doesNotCacheMissingUser() {
+		SessionUserCache cache = new SessionUserCache(10, 300);
+		AtomicInteger loads = new AtomicInteger();
+		Function<Long, Optional<User>> loader = userId -> {
+			loads.incrementAndGet();
+			return Optional.empty();
+		};
+
+		assertThat(cache.get(1L, loader)).isEmpty();
+		assertThat(cache.get(1L, loader)).isEmpty();
+		assertThat(loads.get()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,91 @@
+package RunningMate.backend.domain.authorization.session;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.session.MapSession;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:session;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+		"spring.jpa.hibernate.ddl-auto=create-drop"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 서버 두 대가 커밋된 세션을 공유하는 상황
+class StoredSessionRepositoryTest {
+	@Autowired
+	private HttpSessionEntryRepository entryRepository;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private StoredSessionRepository serverA;
+	private StoredSessionRepository serverB;
+
+	@BeforeEach
+	void setUp() {
+		entryRepository.deleteAll();
+		serverA = newServer();
+		serverB = newServer();
+	}
+
+	@Test
+	void sessionSavedOnOneServerIsFoundOnAnother() {
+		MapSession session = serverA.createSession();
+		session.setAttribute("userId", 7L);
+		session.setAttribute("theme", "dark");
+		serverA.save(session);
+
+		MapSession found = serverB.findById(session.getId());
+		assertThat(found).isNotNull();
+		assertThat((Long) found.getAttribute("userId")).isEqualTo(7L);
+		assertThat((String) found.getAttribute("theme")).isEqualTo("dark");
+		assertThat(entryRepository.findById(session.getId()).orElseThrow().getUserId()).isEqualTo(7L);
+
+		serverB.deleteById(session.getId());
+		assertThat(newServer().findById(session.getId())).isNull();
+	}
+
+	@Test
+	void accessWithinTouchIntervalIsNotWrittenAgain() {
+		MapSession session = serverA.createSession();
+		session.setAttribute("userId", 7L);
+		serverA.save(session);
+		Instant storedAccess = entryRepository.findById(session.getId()).orElseThrow().getLastAccessedTime();
+
+		MapSession accessed = serverA.findById(session.getId());
+		accessed.setLastAccessedTime(accessed.getLastAccessedTime().plusSeconds(60));
+		serverA.save(accessed);
+		assertThat(entryRepository.findById(session.getId()).orElseThrow().getLastAccessedTime()).isEqualTo(storedAccess);
+
+		accessed.setLastAccessedTime(accessed.getLastAccessedTime().plus(Duration.ofMinutes(10)));
+		serverA.save(accessed);
+		assertThat(entryRepository.findById(session.getId()).orElseThrow().getLastAccessedTime()).isAfter(storedAccess);
+	}
+
+	@Test
+	void expiredSessionIsRemoved() {
+		MapSession session = serverA.createSession();
+		session.setMaxInactiveInterval(Duration.ofSeconds(1));
+		session.setLastAccessedTime(Instant.now().minusSeconds(10));
+		serverA.save(session);
+
+		assertThat(serverB.findById(session.getId())).isNull();
+		assertThat(entryRepository.existsById(session.getId())).isFalse();
+	}
+
+	private StoredSessionRepository newServer() {
+		return new StoredSessionRepository(entryRepository, new TransactionTemplate(transactionManager),
+				Duration.ofDays(7), Duration.ofMinutes(10), 100, Duration.ofSeconds(30));
+	}
+}
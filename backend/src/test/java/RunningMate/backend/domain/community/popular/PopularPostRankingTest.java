@@ -0,0 +1,45 @@
+package RunningMate.backend.domain.community.popular;
+
+import RunningMate.backend.domain.community.entity.Post;
+import RunningMate.backend.domain.community.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PopularPostRankingTest {
+
+	@Test
+	void likesReorderRankingWithoutQueryingAgain() {
+		PostRepository postRepository = mock(PostRepository.class);
+		when(postRepository.findPopular(eq(true), any(Limit.class)))
+				.thenReturn(List.of(post(1L, 5L), post(2L, 3L), post(3L, 1L)));
+		PopularPostRanking ranking = new PopularPostRanking(postRepository, 3);
+
+		assertThat(ranking.top(true, 2)).containsExactly(1L, 2L);
+
+		ranking.update(post(3L, 6L));
+		assertThat(ranking.top(true, 3)).containsExactly(3L, 1L, 2L);
+
+		ranking.update(post(4L, 4L));
+		assertThat(ranking.top(true, 3)).containsExactly(3L, 1L, 4L);
+
+		ranking.update(post(5L, 0L));
+		ranking.remove(post(1L, 5L));
+		assertThat(ranking.top(true, 3)).containsExactly(3L, 4L);
+
+		verify(postRepository, times(1)).findPopular(eq(true), any(Limit.class));
+	}
+
+	private Post post(Long postId, Long likeCount) {
+		return Post.builder().postId(postId).postTag(true).likeCount(likeCount).build();
+	}
+}
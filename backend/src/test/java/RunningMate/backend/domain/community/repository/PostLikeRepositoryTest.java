@@ -0,0 +1,67 @@
+package RunningMate.backend.domain.community.repository;
+
+import RunningMate.backend.domain.community.entity.Post;
+import RunningMate.backend.domain.community.entity.PostLike;
+import RunningMate.backend.domain.user.entity.User;
+import RunningMate.backend.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:community;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+		"spring.jpa.hibernate.ddl-auto=create-drop"})
+class PostLikeRepositoryTest {
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private PostRepository postRepository;
+	@Autowired
+	private PostLikeRepository likeRepository;
+
+	@Test
+	void findLikedPostIdsReturnsOnlyPostsLikedByUser() {
+		User me = saveUser("me");
+		User other = saveUser("other");
+		Post liked = savePost(other);
+		Post likedByOther = savePost(me);
+		Post notLiked = savePost(other);
+		likeRepository.save(PostLike.builder().user(me).post(liked).build());
+		likeRepository.save(PostLike.builder().user(other).post(likedByOther).build());
+
+		assertThat(likeRepository.findLikedPostIds(me.getUserId(),
+				List.of(liked.getPostId(), likedByOther.getPostId(), notLiked.getPostId())))
+				.containsExactly(liked.getPostId());
+	}
+
+	private User saveUser(String nickname) {
+		return userRepository.save(User.builder()
+				.userNickname(nickname)
+				.userEmail(nickname + "@runningmate.com")
+				.userPassword("password")
+				.userWeight(60L)
+				.userHeight(170L)
+				.build());
+	}
+
+	private Post savePost(User user) {
+		return postRepository.save(Post.builder()
+				.postTitle("제목")
+				.postContent("내용")
+				.postTag(true)
+				.likeCount(0L)
+				.commentCount(0L)
+				.postDate(LocalDateTime.now())
+				.user(user)
+				.build());
+	}
+}
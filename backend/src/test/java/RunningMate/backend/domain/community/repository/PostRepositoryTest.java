@@ -0,0 +1,103 @@
+package RunningMate.backend.domain.community.repository;
+
+import RunningMate.backend.domain.community.entity.Post;
+import RunningMate.backend.domain.community.entity.PostStatus;
+import RunningMate.backend.domain.user.entity.User;
+import RunningMate.backend.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:community;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+		"spring.jpa.hibernate.ddl-auto=create-drop"})
+class PostRepositoryTest {
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private PostRepository postRepository;
+
+	@Test
+	void latestPagesFollowEachOtherWithoutGapsOrDuplicates() {
+		User user = saveUser();
+		LocalDateTime sameTime = LocalDateTime.of(2024, 11, 1, 9, 0);
+		List<Long> expected = new ArrayList<>();
+		for (int i = 0; i < 7; i++)
+			expected.add(0, savePost(user, true, sameTime.plusMinutes(i / 2), 0L).getPostId());
+		savePost(user, false, sameTime, 0L);
+
+		List<Long> paged = new ArrayList<>();
+		List<Post> page = postRepository.findLatest(true, Limit.of(3));
+		while (!page.isEmpty()) {
+			page.forEach(post -> paged.add(post.getPostId()));
+			Post last = page.get(page.size() - 1);
+			page = postRepository.findLatestAfter(true, last.getPostDate(), last.getPostId(), Limit.of(3));
+		}
+
+		assertThat(paged).isEqualTo(expected);
+	}
+
+	@Test
+	void popularPagesFollowEachOtherWithoutGapsOrDuplicates() {
+		User user = saveUser();
+		Post first = savePost(user, true, LocalDateTime.now(), 5L);
+		Post tieOlder = savePost(user, true, LocalDateTime.now(), 3L);
+		Post tieNewer = savePost(user, true, LocalDateTime.now(), 3L);
+		Post last = savePost(user, true, LocalDateTime.now(), 1L);
+
+		List<Post> page = postRepository.findPopular(true, Limit.of(2));
+		assertThat(page).extracting(Post::getPostId).containsExactly(first.getPostId(), tieNewer.getPostId());
+
+		page = postRepository.findPopularAfter(true, 3L, tieNewer.getPostId(), Limit.of(2));
+		assertThat(page).extracting(Post::getPostId).containsExactly(tieOlder.getPostId(), last.getPostId());
+	}
+
+	@Test
+	void feedsShowOnlyPublishedPosts() {
+		User user = saveUser();
+		Post published = savePost(user, true, LocalDateTime.now(), 1L);
+		Post processing = savePost(user, true, LocalDateTime.now(), 2L);
+		processing.setStatus(PostStatus.PROCESSING);
+		Post failed = savePost(user, true, LocalDateTime.now(), 3L);
+		failed.setStatus(PostStatus.FAILED);
+		postRepository.flush();
+
+		assertThat(postRepository.findLatest(true, Limit.of(10))).extracting(Post::getPostId).containsExactly(published.getPostId());
+		assertThat(postRepository.findPopular(true, Limit.of(10))).extracting(Post::getPostId).containsExactly(published.getPostId());
+		assertThat(postRepository.findPublishedByPostIdIn(List.of(published.getPostId(), processing.getPostId(), failed.getPostId())))
+				.extracting(Post::getPostId).containsExactly(published.getPostId());
+	}
+
+	private User saveUser() {
+		return userRepository.save(User.builder()
+				.userNickname("runner")
+				.userEmail("runner@runningmate.com")
+				.userPassword("password")
+				.userWeight(60L)
+				.userHeight(170L)
+				.build());
+	}
+
+	private Post savePost(User user, Boolean postTag, LocalDateTime postDate, Long likeCount) {
+		return postRepository.save(Post.builder()
+				.postTitle("제목")
+				.postContent("내용")
+				.postTag(postTag)
+				.likeCount(likeCount)
+				.commentCount(0L)
+				.postDate(postDate)
+				.user(user)
+				.build());
+	}
+}
@@ -0,0 +1,40 @@
+package RunningMate.backend.domain.community.s3;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageResizerTest {
+	private final ImageResizer imageResizer = new ImageResizer(1, 0.8f);
+
+	@Test
+	void scalesDownToEachVariantWidthKeepingAspectRatio() throws Exception {
+		Map<ImageVariant, byte[]> variants = imageResizer.resize(png(2000, 1000));
+
+		assertThat(variants).containsOnlyKeys(ImageVariant.THUMBNAIL, ImageVariant.MEDIUM);
+		BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariant.THUMBNAIL)));
+		assertThat(thumbnail.getWidth()).isEqualTo(320);
+		assertThat(thumbnail.getHeight()).isEqualTo(160);
+		BufferedImage medium = ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariant.MEDIUM)));
+		assertThat(medium.getWidth()).isEqualTo(1080);
+	}
+
+	@Test
+	void skipsVariantsLargerThanOriginalAndUnreadableFiles() throws Exception {
+		assertThat(imageResizer.resize(png(500, 500))).containsOnlyKeys(ImageVariant.THUMBNAIL);
+		assertThat(imageResizer.resize(new MockMultipartFile("image", "a.heic", "image/heic", new byte[]{1, 2, 3}))).isEmpty();
+	}
+
+	private MockMultipartFile png(int width, int height) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", bytes);
+		return new MockMultipartFile("image", "run.png", "image/png", bytes.toByteArray());
+	}
+}
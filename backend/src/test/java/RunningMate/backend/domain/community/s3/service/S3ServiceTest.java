@@ -0,0 +1,161 @@
+package RunningMate.backend.domain.community.s3.service;
+
+import RunningMate.backend.domain.community.entity.ImageBlob;
+import RunningMate.backend.domain.community.entity.PostImage;
+import RunningMate.backend.domain.community.repository.ImageBlobRepository;
+import RunningMate.backend.domain.community.s3.ImageResizer;
+import RunningMate.backend.domain.community.s3.ImageVariant;
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.Upload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class S3ServiceTest {
+	private final AmazonS3 amazonS3 = mock(AmazonS3.class);
+	private final TransferManager transferManager = mock(TransferManager.class);
+	private final ImageResizer imageResizer = mock(ImageResizer.class);
+	private final ImageBlobRepository imageBlobRepository = mock(ImageBlobRepository.class);
+	private final S3Service s3Service = new S3Service(amazonS3, transferManager, imageResizer, imageBlobRepository);
+
+	@BeforeEach
+	void setUp() throws Exception {
+		ReflectionTestUtils.setField(s3Service, "bucket", "bucket");
+		when(amazonS3.getUrl(eq("bucket"), anyString())).thenAnswer(invocation -> URI.create("https://bucket/" + invocation.getArgument(1)).toURL());
+		when(imageBlobRepository.save(any(ImageBlob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(imageResizer.resizeAsync(any())).thenReturn(CompletableFuture.completedFuture(Map.of()));
+	}
+
+	@Test
+	void uploadsNewImagesUnderUniqueContentHashKeys() {
+		when(transferManager.upload(eq("bucket"), anyString(), any(InputStream.class), any(ObjectMetadata.class))).thenReturn(mock(Upload.class));
+		when(imageResizer.resizeAsync(any()))
+				.thenReturn(CompletableFuture.completedFuture(Map.of(ImageVariant.THUMBNAIL, new byte[]{1})))
+				.thenReturn(CompletableFuture.completedFuture(Map.of()));
+
+		List<PostImage> postImages = s3Service.uploadFile(List.of(image("run.JPG", 1), image("run.jpg", 2)));
+
+		assertThat(postImages).hasSize(2);
+		assertThat(postImages).extracting(PostImage::getImageKey).doesNotHaveDuplicates().allMatch(key -> key.endsWith(".jpg"));
+		assertThat(postImages.get(0).getImageKey()).startsWith(postImages.get(0).getContentHash() + "-");
+		assertThat(postImages.get(0).getThumbnailKey()).isEqualTo(ImageVariant.THUMBNAIL.keyOf(postImages.get(0).getImageKey()));
+		assertThat(postImages.get(1).getThumbnailURLOrOriginal()).isEqualTo(postImages.get(1).getImageURL());
+		verify(transferManager, times(3)).upload(eq("bucket"), anyString(), any(InputStream.class), any(ObjectMetadata.class));
+	}
+
+	@Test
+	void sameImageIsUploadedOnceAndReferencedAgain() {
+		when(transferManager.upload(eq("bucket"), anyString(), any(InputStream.class), any(ObjectMetadata.class))).thenReturn(mock(Upload.class));
+
+		List<PostImage> postImages = s3Service.uploadFile(List.of(image("a.jpg", 1), image("b.jpg", 1)));
+
+		assertThat(postImages.get(0).getImageKey()).isEqualTo(postImages.get(1).getImageKey());
+		verify(transferManager, times(1)).upload(eq("bucket"), anyString(), any(InputStream.class), any(ObjectMetadata.class));
+		ArgumentCaptor<ImageBlob> saved = ArgumentCaptor.forClass(ImageBlob.class);
+		verify(imageBlobRepository).save(saved.capture());
+		assertThat(saved.getValue().getReferenceCount()).isEqualTo(2L);
+
+		String contentHash = postImages.get(0).getContentHash();
+		when(imageBlobRepository.increaseReferenceCount(contentHash, 1)).thenReturn(1);
+		when(imageBlobRepository.findById(contentHash)).thenReturn(Optional.of(saved.getValue()));
+		assertThat(s3Service.uploadFile(List.of(image("c.jpg", 1))).get(0).getImageKey()).isEqualTo(postImages.get(0).getImageKey());
+		verify(transferManager, times(1)).upload(eq("bucket"), anyString(), any(InputStream.class), any(ObjectMetadata.class));
+	}
+
+	@Test
+	void deletesUploadedImagesWhenOneFails() throws Exception {
+		Upload failed = mock(Upload.class);
+		doThrow(new AmazonClientException("실패")).when(failed).waitForCompletion();
+		when(transferManager.upload(eq("bucket"), anyString(), any(InputStream.class), any(ObjectMetadata.class)))
+				.thenReturn(mock(Upload.class), failed);
+
+		assertThatThrownBy(() -> s3Service.uploadFile(List.of(image("a.jpg", 1), image("b.jpg", 2))))
+				.isInstanceOf(IllegalStateException.class);
+		verify(amazonS3, times(2)).deleteObject(eq("bucket"), anyString());
+		verify(imageBlobRepository, never()).save(any(ImageBlob.class));
+	}
+
+	@Test
+	void reuploadOfImageBeingDeletedGetsItsOwnKeys() {
+		when(transferManager.upload(eq("bucket"), anyString(), any(InputStream.class), any(ObjectMetadata.class))).thenReturn(mock(Upload.class));
+		ImageBlob unreferenced = ImageBlob.builder().contentHash("hash").imageKey("hash-old.jpg").imageURL("url").referenceCount(0L).build();
+		when(imageBlobRepository.save(any(ImageBlob.class)))
+				.thenThrow(new DataIntegrityViolationException("duplicate"))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+		when(imageBlobRepository.findById(anyString())).thenReturn(Optional.of(unreferenced));
+		when(imageBlobRepository.deleteIfUnreferenced(anyString())).thenReturn(1);
+
+		PostImage postImage = s3Service.uploadFile(List.of(image("a.jpg", 1))).get(0);
+
+		assertThat(postImage.getImageKey()).isNotEqualTo("hash-old.jpg");
+		ArgumentCaptor<DeleteObjectsRequest> deleted = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+		verify(amazonS3).deleteObjects(deleted.capture());
+		assertThat(deleted.getValue().getKeys()).extracting(DeleteObjectsRequest.KeyVersion::getKey).containsExactly("hash-old.jpg");
+		verify(imageBlobRepository, times(2)).save(any(ImageBlob.class));
+	}
+
+	@Test
+	void dropsOwnUploadWhenAnotherRequestRegisteredFirst() {
+		when(transferManager.upload(eq("bucket"), anyString(), any(InputStream.class), any(ObjectMetadata.class))).thenReturn(mock(Upload.class));
+		ImageBlob existing = ImageBlob.builder().contentHash("hash").imageKey("hash-first.jpg").imageURL("url").referenceCount(2L).build();
+		when(imageBlobRepository.save(any(ImageBlob.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+		when(imageBlobRepository.increaseReferenceCount(anyString(), anyLong())).thenReturn(0, 1);
+		when(imageBlobRepository.findById(anyString())).thenReturn(Optional.of(existing));
+
+		PostImage postImage = s3Service.uploadFile(List.of(image("a.jpg", 1))).get(0);
+
+		assertThat(postImage.getImageKey()).isEqualTo("hash-first.jpg");
+		ArgumentCaptor<DeleteObjectsRequest> deleted = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+		verify(amazonS3).deleteObjects(deleted.capture());
+		assertThat(deleted.getValue().getKeys()).extracting(DeleteObjectsRequest.KeyVersion::getKey)
+				.singleElement().asString().endsWith(".jpg").isNotEqualTo("hash-first.jpg");
+	}
+
+	@Test
+	void deletesObjectsOnlyWhenLastReferenceIsGone() {
+		PostImage shared = PostImage.builder().contentHash("shared").imageKey("shared.jpg").imageURL("url").build();
+		PostImage last = PostImage.builder().contentHash("last").imageKey("last.jpg").thumbnailKey("thumbnail/last.jpg.jpg").imageURL("url").build();
+		when(imageBlobRepository.deleteIfUnreferenced("shared")).thenReturn(0);
+		when(imageBlobRepository.deleteIfUnreferenced("last")).thenReturn(1);
+
+		s3Service.deleteFiles(List.of(shared, last));
+
+		ArgumentCaptor<DeleteObjectsRequest> deleted = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+		verify(amazonS3, times(1)).deleteObjects(deleted.capture());
+		assertThat(deleted.getValue().getKeys()).extracting(DeleteObjectsRequest.KeyVersion::getKey)
+				.containsExactly("last.jpg", "thumbnail/last.jpg.jpg");
+		verify(imageBlobRepository, never()).increaseReferenceCount(anyString(), anyLong());
+	}
+
+	private MultipartFile image(String fileName, int content) {
+		return new MockMultipartFile("image", fileName, "image/jpeg", new byte[]{(byte) content, 2, 3});
+	}
+}
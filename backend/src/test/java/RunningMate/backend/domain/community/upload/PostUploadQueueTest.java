@@ -0,0 +1,170 @@
+package RunningMate.backend.domain.community.upload;
+
+import RunningMate.backend.domain.community.entity.PostImage;
+import RunningMate.backend.domain.community.entity.PostUploadJob;
+import RunningMate.backend.domain.community.entity.PostUploadJobStatus;
+import RunningMate.backend.domain.community.repository.PostUploadJobRepository;
+import RunningMate.backend.domain.community.s3.service.S3Service;
+import RunningMate.backend.domain.community.service.CommunityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostUploadQueueTest {
+	@TempDir
+	Path tempDir;
+
+	private final PostUploadJobRepository jobRepository = mock(PostUploadJobRepository.class);
+	private final S3Service s3Service = mock(S3Service.class);
+	private final CommunityService communityService = mock(CommunityService.class);
+	private PostUploadQueue queue;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		queue = new PostUploadQueue(jobRepository, s3Service, communityService, tempDir.toString(), "node-1", 1, 3, 1000, 3600000);
+		when(jobRepository.claim(1L)).thenReturn(1);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void uploadsStagedImagesInOrderThenPublishes() throws Exception {
+		Path dir = queue.stage(List.of(
+				new MockMultipartFile("image", "second.png", "image/png", new byte[]{1}),
+				new MockMultipartFile("image", "../first.jpg", "image/jpeg", new byte[]{2, 3})));
+		givenJob(dir, 1);
+		List<PostImage> postImages = List.of(PostImage.builder().build());
+		when(s3Service.uploadFile(anyList())).thenReturn(postImages);
+		when(communityService.publishPost(10L, postImages)).thenReturn(true);
+
+		queue.run(1L);
+
+		ArgumentCaptor<List<MultipartFile>> staged = ArgumentCaptor.forClass(List.class);
+		verify(s3Service).uploadFile(staged.capture());
+		assertThat(staged.getValue()).extracting(MultipartFile::getOriginalFilename).containsExactly("second.png", "first.jpg");
+		assertThat(staged.getValue()).extracting(MultipartFile::getContentType).containsExactly("image/png", "image/jpeg");
+		verify(communityService).publishPost(10L, postImages);
+		verify(jobRepository).deleteById(1L);
+		assertThat(dir).doesNotExist();
+	}
+
+	@Test
+	void failedUploadIsRetriedLaterUntilAttemptsRunOut() throws Exception {
+		Path dir = queue.stage(List.of(new MockMultipartFile("image", "run.png", "image/png", new byte[]{1})));
+		when(s3Service.uploadFile(anyList())).thenThrow(new IllegalStateException("S3 down"));
+
+		givenJob(dir, 1);
+		queue.run(1L);
+		verify(jobRepository).retryLater(eq(1L), any(LocalDateTime.class), eq("S3 down"));
+		verify(communityService, never()).failPost(any());
+		assertThat(dir).exists();
+
+		givenJob(dir, 3);
+		queue.run(1L);
+		verify(communityService).failPost(10L);
+		verify(jobRepository).deleteById(1L);
+		assertThat(dir).doesNotExist();
+	}
+
+	@Test
+	void releasesImagesWhenPostWasDeletedDuringUpload() throws Exception {
+		Path dir = queue.stage(List.of(new MockMultipartFile("image", "run.png", "image/png", new byte[]{1})));
+		givenJob(dir, 1);
+		List<PostImage> postImages = List.of(PostImage.builder().build());
+		when(s3Service.uploadFile(anyList())).thenReturn(postImages);
+		when(communityService.publishPost(10L, postImages)).thenReturn(false);
+
+		queue.run(1L);
+
+		verify(s3Service).deleteFiles(postImages);
+		assertThat(Files.exists(dir)).isFalse();
+	}
+
+	@Test
+	void orphanedJobsFailTheirPostOnce() throws Exception {
+		Path localDir = queue.stage(List.of(new MockMultipartFile("image", "run.png", "image/png", new byte[]{1})));
+		PostUploadJob local = job(1L, 10L, "node-1", localDir);
+		PostUploadJob gone = job(2L, 20L, "node-gone", Path.of("/gone"));
+		PostUploadJob takenByOtherNode = job(3L, 30L, "node-gone", Path.of("/gone"));
+		when(jobRepository.findCreatedBefore(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of(local, gone, takenByOtherNode));
+		when(jobRepository.deleteByJobId(1L)).thenReturn(1);
+		when(jobRepository.deleteByJobId(2L)).thenReturn(1);
+		when(jobRepository.deleteByJobId(3L)).thenReturn(0);
+
+		queue.sweepOrphans();
+
+		verify(communityService).failPost(10L);
+		verify(communityService).failPost(20L);
+		verify(communityService, never()).failPost(30L);
+		assertThat(localDir).doesNotExist();
+	}
+
+	@Test
+	void jobSavedInTransactionStartsOnlyAfterCommit() throws Exception {
+		Path dir = queue.stage(List.of(new MockMultipartFile("image", "run.png", "image/png", new byte[]{1})));
+		when(jobRepository.save(any(PostUploadJob.class))).thenAnswer(invocation -> {
+			PostUploadJob job = invocation.getArgument(0);
+			ReflectionTestUtils.setField(job, "jobId", 1L);
+			return job;
+		});
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			queue.enqueue(10L, dir);
+			verify(jobRepository, after(200).never()).claim(any());
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		verify(jobRepository, timeout(1000)).claim(1L);
+	}
+
+	private void givenJob(Path dir, int attempts) {
+		when(jobRepository.findById(1L)).thenReturn(Optional.of(PostUploadJob.builder()
+				.jobId(1L)
+				.postId(10L)
+				.nodeId("node-1")
+				.stagingDir(dir.toString())
+				.status(PostUploadJobStatus.RUNNING)
+				.attempts(attempts)
+				.nextAttemptAt(LocalDateTime.now())
+				.createdAt(LocalDateTime.now())
+				.build()));
+	}
+
+	private PostUploadJob job(Long jobId, Long postId, String nodeId, Path dir) {
+		return PostUploadJob.builder()
+				.jobId(jobId)
+				.postId(postId)
+				.nodeId(nodeId)
+				.stagingDir(dir.toString())
+				.status(PostUploadJobStatus.PENDING)
+				.attempts(0)
+				.nextAttemptAt(LocalDateTime.now())
+				.createdAt(LocalDateTime.now().minusHours(2))
+				.build();
+	}
+}
@@ -0,0 +1,62 @@
+package RunningMate.backend.domain.instance;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:lease;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+		"spring.jpa.hibernate.ddl-auto=create-drop"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 서버마다 자기 트랜잭션으로 lease 를 잡는다
+class SingleInstanceGuardTest {
+	@Autowired
+	private InstanceLeaseRepository instanceLeaseRepository;
+
+	@Test
+	void secondServerCannotStartWhileFirstHoldsLease() {
+		SingleInstanceGuard first = guard(Duration.ofMinutes(1));
+		SingleInstanceGuard second = guard(Duration.ofMinutes(1));
+		first.acquire();
+
+		assertThatThrownBy(second::acquire)
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("서버는 한 대만");
+
+		// 정상 종료로 놓으면 다음 서버는 만료를 기다리지 않고 시작한다
+		first.release();
+		assertThatCode(second::acquire).doesNotThrowAnyException();
+		second.release();
+	}
+
+	@Test
+	void expiredLeaseIsTakenOverAndOldServerCannotRenewIt() {
+		SingleInstanceGuard crashed = guard(Duration.ofSeconds(-1)); // 잡자마자 만료된 lease
+		SingleInstanceGuard next = guard(Duration.ofMinutes(1));
+		crashed.acquire();
+
+		// 갱신하지 못하고 죽은 서버의 lease 는 만료 후 다른 서버가 가져간다
+		assertThatCode(next::acquire).doesNotThrowAnyException();
+		String owner = instanceLeaseRepository.findById(SingleInstanceGuard.LEASE_NAME).orElseThrow().getOwner();
+
+		crashed.renew();
+		crashed.release();
+		assertThat(instanceLeaseRepository.findById(SingleInstanceGuard.LEASE_NAME).orElseThrow().getOwner()).isEqualTo(owner);
+		next.release();
+	}
+
+	private SingleInstanceGuard guard(Duration leaseTtl) {
+		return new SingleInstanceGuard(instanceLeaseRepository, leaseTtl);
+	}
+}
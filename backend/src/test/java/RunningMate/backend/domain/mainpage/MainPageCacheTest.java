@@ -0,0 +1,36 @@
+package RunningMate.backend.domain.mainpage;
+
+import RunningMate.backend.domain.community.service.CommunityService;
+import RunningMate.backend.domain.running.service.RunningService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MainPageCacheTest {
+
+	@Test
+	void rebuildsOnlyAfterChange() {
+		CommunityService communityService = mock(CommunityService.class);
+		RunningService runningService = mock(RunningService.class);
+		when(communityService.getMainPagePost()).thenReturn(List.of());
+		when(runningService.mainPageGroups()).thenReturn(List.of());
+		MainPageCache cache = new MainPageCache(communityService, runningService, new ObjectMapper(), 60);
+
+		MainPageCache.Snapshot first = cache.get();
+		assertThat(cache.get()).isSameAs(first);
+		verify(runningService, times(1)).mainPageGroups();
+
+		cache.onMainPageChanged(new MainPageChangedEvent());
+		MainPageCache.Snapshot rebuilt = cache.get();
+		assertThat(rebuilt).isNotSameAs(first);
+		assertThat(rebuilt.eTag()).isEqualTo(first.eTag());
+		verify(runningService, times(2)).mainPageGroups();
+	}
+}
@@ -0,0 +1,84 @@
+package RunningMate.backend.domain.running.expiry;
+
+import RunningMate.backend.domain.running.service.RunningService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class GroupExpirySchedulerTest {
+	private static final LocalDateTime SECOND = LocalDateTime.of(2030, 1, 1, 9, 0, 0);
+
+	private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+	private final RunningService runningService = mock(RunningService.class);
+	private final GroupExpiryScheduler scheduler = new GroupExpiryScheduler(taskScheduler, runningService);
+
+	@Test
+	void groupsEndingInSameSecondShareOneTimer() {
+		scheduler.schedule(1L, SECOND.plusNanos(200_000_000));
+		scheduler.schedule(2L, SECOND.plusNanos(700_000_000));
+
+		// 종료 시각은 다음 초로 올려서 묶는다
+		ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+		verify(taskScheduler).schedule(timer.capture(), eq(instant(SECOND.plusSeconds(1))));
+		verifyNoInteractions(runningService);
+
+		timer.getValue().run();
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Collection<Long>> groupIds = ArgumentCaptor.forClass(Collection.class);
+		verify(runningService).expireRunningGroups(groupIds.capture());
+		assertThat(groupIds.getValue()).containsExactlyInAnyOrder(1L, 2L);
+	}
+
+	@Test
+	void groupEndingOnExactSecondIsNotPushedBack() {
+		scheduler.schedule(1L, SECOND);
+
+		verify(taskScheduler).schedule(any(Runnable.class), eq(instant(SECOND)));
+	}
+
+	@Test
+	void timerRunsOnceAndSameSecondCanBeScheduledAgain() {
+		scheduler.schedule(1L, SECOND);
+		ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+		verify(taskScheduler).schedule(timer.capture(), any(Instant.class));
+
+		timer.getValue().run();
+		timer.getValue().run();
+		verify(runningService, times(1)).expireRunningGroups(Set.of(1L));
+
+		scheduler.schedule(2L, SECOND);
+		verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+	}
+
+	@Test
+	void failedExpiryIsLeftForPeriodicSweep() {
+		doThrow(new IllegalStateException("db down")).when(runningService).expireRunningGroups(anyCollection());
+		scheduler.schedule(1L, SECOND);
+		ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+		verify(taskScheduler).schedule(timer.capture(), any(Instant.class));
+
+		assertThatCode(() -> timer.getValue().run()).doesNotThrowAnyException();
+	}
+
+	private Instant instant(LocalDateTime time) {
+		return time.atZone(ZoneId.systemDefault()).toInstant();
+	}
+}
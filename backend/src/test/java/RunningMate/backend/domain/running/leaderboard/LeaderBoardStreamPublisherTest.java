@@ -0,0 +1,65 @@
+package RunningMate.backend.domain.running.leaderboard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LeaderBoardStreamPublisherTest {
+	private final LeaderBoardStreamPublisher publisher = new LeaderBoardStreamPublisher(1, 60000);
+
+	@AfterEach
+	void tearDown() {
+		publisher.shutdown();
+	}
+
+	@Test
+	void onlyOwnerCanSubscribeToRecord() {
+		LiveLeaderBoard board = board();
+
+		assertThatThrownBy(() -> publisher.subscribe(board, 1L, 20L))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatCode(() -> publisher.subscribe(board, 1L, 10L)).doesNotThrowAnyException();
+	}
+
+	@Test
+	void resubscribingCompletesPreviousStream() throws Exception {
+		LiveLeaderBoard board = board();
+		SseEmitter first = publisher.subscribe(board, 1L, 10L);
+		SseEmitter second = publisher.subscribe(board, 1L, 10L);
+
+		assertThatThrownBy(() -> first.send("ping")).isInstanceOf(IllegalStateException.class);
+		assertThatCode(() -> second.send("ping")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void rejectedSubscriberKeepsOwnersStream() {
+		LiveLeaderBoard board = board();
+		SseEmitter owner = publisher.subscribe(board, 1L, 10L);
+
+		assertThatThrownBy(() -> publisher.subscribe(board, 1L, 20L))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatCode(() -> owner.send("ping")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void closingGroupCompletesEveryStream() {
+		LiveLeaderBoard board = board();
+		SseEmitter first = publisher.subscribe(board, 1L, 10L);
+		SseEmitter second = publisher.subscribe(board, 2L, 20L);
+
+		publisher.close(board.getGroupId());
+
+		assertThatThrownBy(() -> first.send("ping")).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> second.send("ping")).isInstanceOf(IllegalStateException.class);
+	}
+
+	private LiveLeaderBoard board() {
+		LiveLeaderBoard board = new LiveLeaderBoard(1L);
+		board.join(1L, 1L, 10L, "runner10", 0L, 1L, 1L);
+		board.join(2L, 2L, 20L, "runner20", 0L, 2L, 2L);
+		return board;
+	}
+}
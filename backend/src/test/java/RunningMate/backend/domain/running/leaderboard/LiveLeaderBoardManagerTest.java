@@ -0,0 +1,167 @@
+package RunningMate.backend.domain.running.leaderboard;
+
+import RunningMate.backend.domain.running.entity.GroupTag;
+import RunningMate.backend.domain.running.entity.LeaderBoard;
+import RunningMate.backend.domain.running.entity.Record;
+import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.running.repository.LeaderBoardRepository;
+import RunningMate.backend.domain.running.repository.RecordRepository;
+import RunningMate.backend.domain.running.repository.RunningGroupRepository;
+import RunningMate.backend.domain.user.entity.User;
+import RunningMate.backend.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:liveboard;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+		"spring.jpa.hibernate.ddl-auto=create-drop"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 매니저가 자기 트랜잭션으로 반영한 결과를 다시 읽는다
+class LiveLeaderBoardManagerTest {
+	@Autowired
+	private LeaderBoardRepository leaderBoardRepository;
+	@Autowired
+	private RecordRepository recordRepository;
+	@Autowired
+	private RunningGroupRepository groupRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void eachChunkIsOneJdbcBatch() {
+		RunningGroup group = group();
+		// 저장된 순위와 거리 순서를 거꾸로 두면 6명 모두 순위가 바뀐다
+		List<LeaderBoard> boards = IntStream.range(0, 6)
+				.mapToObj(i -> join(group, "batch" + i, 1000L * (i + 1), (long) i + 1))
+				.toList();
+		JdbcTemplate counting = spy(jdbcTemplate);
+		LiveLeaderBoardManager manager = manager(counting, 4);
+
+		manager.attach(boards.get(0));
+		manager.flush();
+
+		// 6건을 4건씩 : 행마다 UPDATE 를 보내지 않고 batch 2번
+		verify(counting, times(2)).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+		verify(counting, never()).update(anyString(), any(Object[].class));
+		IntStream.range(0, 6).forEach(i -> assertThat(ranking(boards.get(i))).isEqualTo(6L - i));
+	}
+
+	@Test
+	void failedFlushIsWrittenOnNextFlush() {
+		RunningGroup group = group();
+		LeaderBoard slow = join(group, "slow", 1000L, 1L);
+		LeaderBoard fast = join(group, "fast", 3000L, 2L);
+		JdbcTemplate failing = spy(jdbcTemplate);
+		doThrow(new IllegalStateException("db down")).doCallRealMethod()
+				.when(failing).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+		LiveLeaderBoardManager manager = manager(failing, 500);
+		manager.attach(slow);
+
+		manager.flush();
+		assertThat(ranking(fast)).isEqualTo(2L);
+
+		// 보드에서는 이미 꺼냈지만 실패한 순위는 다음 반영 때 다시 쓴다
+		manager.flush();
+		assertThat(ranking(fast)).isEqualTo(1L);
+		assertThat(ranking(slow)).isEqualTo(2L);
+	}
+
+	@Test
+	void failedFlushIsWrittenAfterGroupIsEvicted() {
+		RunningGroup group = group();
+		LeaderBoard slow = join(group, "evictSlow", 1000L, 1L);
+		LeaderBoard fast = join(group, "evictFast", 3000L, 2L);
+		JdbcTemplate failing = spy(jdbcTemplate);
+		doThrow(new IllegalStateException("db down")).when(failing)
+				.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+		LiveLeaderBoardManager manager = manager(failing, 500);
+		manager.attach(slow);
+
+		manager.evict(group.getGroupId());
+		assertThat(manager.findByGroupId(group.getGroupId())).isEmpty();
+		assertThat(ranking(fast)).isEqualTo(2L);
+
+		// 보드는 내려갔어도 순위는 남아 있다가 다음 주기에 반영된다
+		doCallRealMethod().when(failing)
+				.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+		manager.flush();
+		assertThat(ranking(fast)).isEqualTo(1L);
+		assertThat(ranking(slow)).isEqualTo(2L);
+	}
+
+	private LiveLeaderBoardManager manager(JdbcTemplate jdbcTemplate, int flushBatchSize) {
+		return new LiveLeaderBoardManager(leaderBoardRepository, jdbcTemplate, new TransactionTemplate(transactionManager), flushBatchSize);
+	}
+
+	private Long ranking(LeaderBoard board) {
+		return leaderBoardRepository.findById(board.getBoardId()).orElseThrow().getCurrentRanking();
+	}
+
+	private RunningGroup group() {
+		return groupRepository.save(RunningGroup.builder()
+				.groupTitle("리더보드")
+				.groupTag(GroupTag.BEGINNER)
+				.startTime(LocalDateTime.now())
+				.endTime(LocalDateTime.now().plusHours(1))
+				.targetDistance(5000L)
+				.maxParticipants(10)
+				.currentParticipants(1)
+				.activate(true)
+				.build());
+	}
+
+	private LeaderBoard join(RunningGroup group, String nickname, Long distance, Long ranking) {
+		User user = userRepository.save(User.builder()
+				.userNickname(nickname)
+				.userEmail(nickname + "@test.com")
+				.userPassword("password")
+				.userWeight(60L)
+				.userHeight(170L)
+				.build());
+		Record record = recordRepository.save(Record.builder()
+				.user(user)
+				.runningStartTime(LocalDate.now())
+				.runningTime(Duration.ofSeconds(120))
+				.calories(0.0)
+				.distance(distance)
+				.build());
+		return leaderBoardRepository.save(LeaderBoard.builder()
+				.group(group)
+				.record(record)
+				.currentRanking(ranking)
+				.preRanking(ranking)
+				.build());
+	}
+}
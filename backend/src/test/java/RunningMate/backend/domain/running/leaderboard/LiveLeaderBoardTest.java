@@ -0,0 +1,87 @@
+package RunningMate.backend.domain.running.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveLeaderBoardTest {
+
+	@Test
+	void updateKeepsSameOrderAsFullSort() {
+		LiveLeaderBoard board = new LiveLeaderBoard(1L);
+		Map<Long, Long> distances = new HashMap<>();
+		for (long recordId = 1; recordId <= 200; recordId++) {
+			board.join(recordId, recordId, recordId, "runner" + recordId, 0L, recordId, recordId);
+			distances.put(recordId, 0L);
+		}
+
+		Random random = new Random(42);
+		for (int tick = 0; tick < 5000; tick++) {
+			long recordId = 1 + random.nextInt(200);
+			long distance = distances.get(recordId) + random.nextInt(30);
+			distances.put(recordId, distance);
+			board.update(recordId, distance);
+		}
+
+		List<Long> expected = new ArrayList<>(distances.keySet());
+		expected.sort(Comparator.comparing((Long id) -> distances.get(id)).reversed().thenComparing(id -> id));
+		assertThat(board.standings()).extracting(RankedRunner::getRecordId).containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	void windowShowsNeighboursOrEdges() {
+		LiveLeaderBoard board = new LiveLeaderBoard(1L);
+		for (long recordId = 1; recordId <= 5; recordId++) {
+			board.join(recordId, recordId, recordId, "runner" + recordId, 100L - recordId, recordId, recordId);
+		}
+
+		assertThat(board.window(1L)).extracting(RankedRunner::getRanking).containsExactly(1L, 2L, 3L);
+		assertThat(board.window(3L)).extracting(RankedRunner::getRanking).containsExactly(2L, 3L, 4L);
+		assertThat(board.window(5L)).extracting(RankedRunner::getRanking).containsExactly(3L, 4L, 5L);
+	}
+
+	@Test
+	void updateReportsRankChangeAndAffectedRange() {
+		LiveLeaderBoard board = new LiveLeaderBoard(1L);
+		for (long recordId = 1; recordId <= 4; recordId++) {
+			board.join(recordId, recordId, recordId, "runner" + recordId, 100L - recordId, recordId, recordId);
+		}
+
+		LiveLeaderBoard.Standing standing = board.update(4L, 200L);
+
+		assertThat(standing.getRanking()).isEqualTo(1L);
+		assertThat(standing.getRankChange()).isEqualTo("up");
+		assertThat(standing.getFromRank()).isEqualTo(1);
+		assertThat(standing.getToRank()).isEqualTo(4);
+		assertThat(board.drainRankingChanges()).hasSize(4);
+		assertThat(board.drainRankingChanges()).isEmpty();
+	}
+
+	@Test
+	void updatePrecomputesTtsMessage() {
+		LiveLeaderBoard board = new LiveLeaderBoard(1L);
+		for (long recordId = 1; recordId <= 4; recordId++) {
+			board.join(recordId, recordId, recordId, "runner" + recordId, 100L - recordId, recordId, recordId);
+		}
+
+		board.update(3L, 98L);
+		assertThat(board.ttsMessage(3L)).isEmpty(); // 최고 기록을 읽기 전
+
+		board.initBestDistance(3L, 5000L);
+		board.update(3L, 100L);
+		assertThat(board.ttsMessage(3L)).hasValue("현재 100미터로 1등이 되었습니다! 선두를 유지하세요.");
+
+		board.update(3L, 110L);
+		assertThat(board.ttsMessage(3L)).hasValue("현재 1등으로 선두입니다. 2등과는 11미터 차이입니다.");
+
+		board.update(3L, 6000L);
+		assertThat(board.ttsMessage(3L)).hasValue("현재 러닝 최고 기록 갱신 중 입니다. 현재 6000미터 입니다.");
+	}
+}
@@ -0,0 +1,169 @@
+package RunningMate.backend.domain.running.progress;
+
+import RunningMate.backend.domain.running.entity.Record;
+import RunningMate.backend.domain.running.repository.RecordRepository;
+import RunningMate.backend.domain.user.entity.User;
+import RunningMate.backend.domain.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:progress;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+		"spring.jpa.hibernate.ddl-auto=create-drop"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 버퍼가 자기 트랜잭션으로 반영한 결과를 다시 읽는다
+class RecordProgressBufferTest {
+	@Autowired
+	private RecordRepository recordRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+
+	@Test
+	void flushWritesOnlyLatestProgress() {
+		Record record = record("latest", false);
+		RecordProgressBuffer buffer = buffer(jdbcTemplate, 10, 500);
+
+		buffer.put(record.getRecordId(), 100L, Duration.ofSeconds(30), 60L);
+		buffer.put(record.getRecordId(), 250L, Duration.ofSeconds(60), 60L);
+		buffer.flush();
+
+		Record flushed = recordRepository.findById(record.getRecordId()).orElseThrow();
+		assertThat(flushed.getDistance()).isEqualTo(250L);
+		assertThat(flushed.getRunningTime()).isEqualTo(Duration.ofSeconds(60));
+		assertThat(flushed.getCalories()).isEqualTo(Record.calcCalories(250L, Duration.ofSeconds(60), 60L));
+		assertThat(buffer.find(record.getRecordId())).isEmpty();
+	}
+
+	@Test
+	void eachChunkIsOneJdbcBatch() {
+		List<Record> records = IntStream.range(0, 5).mapToObj(i -> record("batch" + i, false)).toList();
+		JdbcTemplate counting = spy(jdbcTemplate);
+		RecordProgressBuffer buffer = buffer(counting, 10, 2);
+
+		records.forEach(record -> buffer.put(record.getRecordId(), 1000L, Duration.ofSeconds(300), 60L));
+		buffer.flush();
+
+		// 5건을 2건씩 : 행마다 UPDATE 를 보내지 않고 batch 3번
+		verify(counting, times(3)).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+		verify(counting, never()).update(anyString(), any(Object[].class));
+		assertThat(records).allSatisfy(record ->
+				assertThat(recordRepository.findById(record.getRecordId()).orElseThrow().getDistance()).isEqualTo(1000L));
+	}
+
+	@Test
+	void recordAppliedToStatsIsNotOverwritten() {
+		Record record = record("finished", true);
+		RecordProgressBuffer buffer = buffer(jdbcTemplate, 10, 500);
+
+		buffer.put(record.getRecordId(), 900L, Duration.ofSeconds(300), 60L);
+		buffer.flush();
+
+		assertThat(recordRepository.findById(record.getRecordId()).orElseThrow().getDistance()).isEqualTo(500L);
+	}
+
+	@Test
+	void failedFlushKeepsProgressReceivedDuringIt() {
+		Record record = record("retry", false);
+		JdbcTemplate failing = spy(jdbcTemplate);
+		RecordProgressBuffer buffer = buffer(failing, 10, 500);
+		buffer.put(record.getRecordId(), 100L, Duration.ofSeconds(30), 60L);
+		// 반영 도중 새 값이 들어오고 반영은 실패한다
+		doAnswer(invocation -> {
+			buffer.put(record.getRecordId(), 200L, Duration.ofSeconds(60), 60L);
+			throw new IllegalStateException("db down");
+		}).doCallRealMethod().when(failing).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+
+		buffer.flush();
+
+		assertThat(buffer.find(record.getRecordId()).orElseThrow().getDistance()).isEqualTo(200L);
+		assertThat(recordRepository.findById(record.getRecordId()).orElseThrow().getDistance()).isEqualTo(500L);
+		buffer.flush();
+		assertThat(recordRepository.findById(record.getRecordId()).orElseThrow().getDistance()).isEqualTo(200L);
+	}
+
+	@Test
+	void staleProgressIsHandedToSchedulerOnce() throws Exception {
+		JdbcTemplate mockJdbcTemplate = mock(JdbcTemplate.class);
+		RecordProgressBuffer buffer = buffer(mockJdbcTemplate, 0, 500);
+
+		buffer.put(1L, 100L, Duration.ofSeconds(30), 60L);
+		Thread.sleep(5);
+		buffer.put(1L, 200L, Duration.ofSeconds(60), 60L);
+		buffer.put(1L, 300L, Duration.ofSeconds(90), 60L);
+
+		// 요청 스레드에서는 DB 를 건드리지 않고, 반영 요청은 한 번만 넘긴다
+		verifyNoInteractions(mockJdbcTemplate);
+		ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+		verify(taskScheduler).schedule(task.capture(), any(Instant.class));
+
+		task.getValue().run();
+		verify(mockJdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+
+		buffer.put(2L, 100L, Duration.ofSeconds(30), 60L);
+		Thread.sleep(5);
+		buffer.put(2L, 200L, Duration.ofSeconds(60), 60L);
+		verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+		verify(mockJdbcTemplate, times(1)).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+	}
+
+	private RecordProgressBuffer buffer(JdbcTemplate jdbcTemplate, long maxUnflushedSeconds, int flushBatchSize) {
+		return new RecordProgressBuffer(jdbcTemplate, new TransactionTemplate(transactionManager), taskScheduler,
+				new SimpleMeterRegistry(), maxUnflushedSeconds, flushBatchSize);
+	}
+
+	private Record record(String nickname, boolean statsApplied) {
+		User user = userRepository.save(User.builder()
+				.userNickname(nickname)
+				.userEmail(nickname + "@test.com")
+				.userPassword("password")
+				.userWeight(60L)
+				.userHeight(170L)
+				.build());
+		return recordRepository.save(Record.builder()
+				.user(user)
+				.runningStartTime(LocalDate.now())
+				.runningTime(Duration.ofSeconds(120))
+				.calories(0.0)
+				.distance(500L)
+				.statsApplied(statsApplied)
+				.build());
+	}
+}
@@ -0,0 +1,105 @@
+package RunningMate.backend.domain.running.quick;
+
+import RunningMate.backend.domain.running.entity.GroupTag;
+import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.running.repository.LeaderBoardRepository;
+import RunningMate.backend.domain.running.repository.RunningGroupRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuickRunningGroupCacheTest {
+	@Test
+	void concurrentRequestsOfSameUserJoinOnce() throws Exception {
+		QuickRunningGroupCache.Room room = room();
+		AtomicInteger joins = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<CompletableFuture<Long>> results = IntStream.range(0, 8)
+					.mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+						await(start);
+						return room.participate(7L, ranking -> {
+							joins.incrementAndGet();
+							return 100L + ranking;
+						});
+					}, executor))
+					.toList();
+			start.countDown();
+
+			Set<Long> recordIds = ConcurrentHashMap.newKeySet();
+			for (CompletableFuture<Long> result : results)
+				recordIds.add(result.get());
+			assertThat(recordIds).containsExactly(101L);
+			assertThat(joins).hasValue(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void failedJoinCanBeRetried() {
+		QuickRunningGroupCache.Room room = room();
+
+		assertThatThrownBy(() -> room.participate(7L, ranking -> {
+			throw new IllegalStateException("DB down");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(room.participate(7L, ranking -> 100L + ranking)).isEqualTo(101L);
+		assertThat(room.findRecordId(7L)).contains(101L);
+	}
+
+	@Test
+	void replacingClosesPreviousRoomBeforeRollover() {
+		RunningGroupRepository groupRepository = mock(RunningGroupRepository.class);
+		LeaderBoardRepository leaderBoardRepository = mock(LeaderBoardRepository.class);
+		when(groupRepository.findByGroupTagAndActivateTrue(GroupTag.QUICK))
+				.thenReturn(RunningGroup.builder().groupId(1L).groupTag(GroupTag.QUICK).build())
+				.thenReturn(RunningGroup.builder().groupId(2L).groupTag(GroupTag.QUICK).build());
+		when(leaderBoardRepository.findRankedRunnersByGroupId(anyLong())).thenReturn(List.of());
+		QuickRunningGroupCache cache = new QuickRunningGroupCache(groupRepository, leaderBoardRepository);
+		QuickRunningGroupCache.Room previous = cache.current().orElseThrow();
+
+		cache.replace(() -> {
+			// 교체 트랜잭션이 커밋되기 전부터 이전 방에는 참가할 수 없다
+			assertThatThrownBy(() -> previous.participate(7L, ranking -> 100L + ranking))
+					.isInstanceOf(IllegalArgumentException.class);
+			assertThat(cache.findByGroupId(1L)).isEmpty();
+			return null;
+		});
+
+		assertThat(cache.current().orElseThrow().getGroupId()).isEqualTo(2L);
+		assertThat(previous.findRecordId(7L)).isEmpty();
+	}
+
+	private QuickRunningGroupCache.Room room() {
+		RunningGroupRepository groupRepository = mock(RunningGroupRepository.class);
+		LeaderBoardRepository leaderBoardRepository = mock(LeaderBoardRepository.class);
+		when(groupRepository.findByGroupTagAndActivateTrue(GroupTag.QUICK))
+				.thenReturn(RunningGroup.builder().groupId(1L).groupTag(GroupTag.QUICK).build());
+		when(leaderBoardRepository.findRankedRunnersByGroupId(1L)).thenReturn(List.of());
+		return new QuickRunningGroupCache(groupRepository, leaderBoardRepository).current().orElseThrow();
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
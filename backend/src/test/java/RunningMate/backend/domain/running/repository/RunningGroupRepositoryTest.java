@@ -0,0 +1,186 @@
+package RunningMate.backend.domain.running.repository;
+
+import RunningMate.backend.domain.running.entity.GroupTag;
+import RunningMate.backend.domain.running.entity.RunningGroup;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:running;MODE=MySQL;NON_KEYWORDS=USER,VALUE;LOCK_TIMEOUT=10000",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=RunningMate.backend.domain.running.repository.RunningGroupRepositoryTest$SqlCapture"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 각 참가 요청이 자기 트랜잭션으로 커밋되도록
+class RunningGroupRepositoryTest {
+	private static final int JOINERS = 500;
+	private static final int MAX_PARTICIPANTS = 50;
+
+	@Autowired
+	private RunningGroupRepository groupRepository;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void concurrentJoinsNeverExceedMaxParticipants() throws InterruptedException {
+		RunningGroup group = groupRepository.save(RunningGroup.builder()
+				.groupTitle("동시 참가")
+				.groupTag(GroupTag.BEGINNER)
+				.startTime(LocalDateTime.now())
+				.endTime(LocalDateTime.now().plusHours(1))
+				.targetDistance(5000L)
+				.maxParticipants(MAX_PARTICIPANTS)
+				.currentParticipants(0)
+				.activate(true)
+				.build());
+
+		ExecutorService executor = Executors.newFixedThreadPool(64);
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(JOINERS);
+		AtomicInteger joined = new AtomicInteger();
+		for (int i = 0; i < JOINERS; i++) {
+			executor.execute(() -> {
+				try {
+					start.await();
+					if (groupRepository.increaseParticipants(group.getGroupId()) == 1)
+						joined.incrementAndGet();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+
+		start.countDown();
+		assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+		executor.shutdown();
+
+		assertThat(joined.get()).isEqualTo(MAX_PARTICIPANTS);
+		assertThat(groupRepository.findByGroupId(group.getGroupId()).getCurrentParticipants()).isEqualTo(MAX_PARTICIPANTS);
+	}
+
+	@Test
+	void concurrentJoinsReadDistinctRankings() throws InterruptedException {
+		RunningGroup group = groupRepository.save(group("동시 순번", GroupTag.BEGINNER, LocalDateTime.now()));
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(group.getMaxParticipants());
+		ConcurrentLinkedQueue<Integer> rankings = new ConcurrentLinkedQueue<>();
+		for (int i = 0; i < group.getMaxParticipants(); i++) {
+			executor.execute(() -> {
+				try {
+					start.await();
+					// 참가 요청과 같은 순서 : 증가시키고 같은 트랜잭션에서 다시 읽는다
+					transactionTemplate.executeWithoutResult(status -> {
+						if (groupRepository.increaseParticipants(group.getGroupId()) == 1)
+							rankings.add(groupRepository.findCurrentParticipants(group.getGroupId()));
+					});
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+
+		start.countDown();
+		assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+		executor.shutdown();
+
+		assertThat(rankings).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+	}
+
+	@Test
+	void mainPageGroupsQueryIsLimitedAndOrderedByStartTime() {
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 0; i < 8; i++)
+			groupRepository.save(group("메인 " + i, GroupTag.BEGINNER, now.plusHours(8 - i)));
+		groupRepository.save(group("빠른 매칭", GroupTag.QUICK, now.minusDays(1)));
+
+		SqlCapture.statements.clear();
+		List<RunningGroup> groups = groupRepository.findTop6ByActivateTrueAndGroupTagNotOrderByStartTimeAsc(GroupTag.QUICK);
+
+		assertThat(SqlCapture.statements).anySatisfy(sql -> assertThat(sql.toLowerCase()).containsAnyOf("limit", "fetch first"));
+		assertThat(groups).hasSize(6);
+		assertThat(groups).extracting(RunningGroup::getGroupTag).doesNotContain(GroupTag.QUICK);
+		assertThat(groups).extracting(RunningGroup::getStartTime).isSorted();
+	}
+
+	@Test
+	void onlyOneQuickGroupPerDay() {
+		LocalDate day = LocalDate.now().plusYears(1);
+		LocalDateTime startTime = day.atStartOfDay();
+		groupRepository.save(quickGroup(day));
+
+		assertThatThrownBy(() -> groupRepository.save(quickGroup(day)))
+				.isInstanceOf(DataIntegrityViolationException.class);
+		// 일반 방은 같은 태그, 같은 시작 시각이어도 여러 개 만들 수 있다
+		groupRepository.save(group("같은 시각 1", GroupTag.BEGINNER, startTime));
+		groupRepository.save(group("같은 시각 2", GroupTag.BEGINNER, startTime));
+		assertThat(groupRepository.findFirstByGroupTagAndStartTime(GroupTag.QUICK, startTime)).isPresent();
+	}
+
+	private RunningGroup quickGroup(LocalDate day) {
+		return RunningGroup.builder()
+				.groupTitle("빠른 매칭방")
+				.groupTag(GroupTag.QUICK)
+				.startTime(day.atStartOfDay())
+				.endTime(day.plusDays(1).atStartOfDay())
+				.targetDistance(Long.MAX_VALUE)
+				.maxParticipants(Integer.MAX_VALUE)
+				.currentParticipants(0)
+				.activate(false)
+				.quickDate(day)
+				.build();
+	}
+
+	private RunningGroup group(String title, GroupTag groupTag, LocalDateTime startTime) {
+		return RunningGroup.builder()
+				.groupTitle(title)
+				.groupTag(groupTag)
+				.startTime(startTime)
+				.endTime(startTime.plusHours(1))
+				.targetDistance(5000L)
+				.maxParticipants(10)
+				.currentParticipants(0)
+				.activate(true)
+				.build();
+	}
+
+	// 실행된 SQL 을 모아 둔다
+	public static class SqlCapture implements StatementInspector {
+		static final List<String> statements = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			statements.add(sql);
+			return sql;
+		}
+	}
+}
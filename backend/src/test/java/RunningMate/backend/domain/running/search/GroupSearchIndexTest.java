@@ -0,0 +1,60 @@
+package RunningMate.backend.domain.running.search;
+
+import RunningMate.backend.domain.running.dto.RunningDTO;
+import RunningMate.backend.domain.running.entity.GroupTag;
+import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.running.repository.RunningGroupRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GroupSearchIndexTest {
+	private final LocalDateTime now = LocalDateTime.now();
+
+	@Test
+	void findsGroupsContainingEveryTerm() {
+		RunningGroupRepository groupRepository = mock(RunningGroupRepository.class);
+		when(groupRepository.findAllByActivateTrue()).thenReturn(List.of(
+				group(1L, "한강 야간 러닝", GroupTag.BEGINNER, 3),
+				group(2L, "한강 아침 Running", GroupTag.BEGINNER, 1),
+				group(3L, "올림픽공원 야간 러닝", GroupTag.BEGINNER, 2)));
+		GroupSearchIndex index = new GroupSearchIndex(groupRepository);
+		index.reload();
+
+		assertThat(ids(index.search(null, "한강"))).containsExactly(2L, 1L);
+		assertThat(ids(index.search(null, "야간 러닝"))).containsExactly(3L, 1L);
+		assertThat(ids(index.search(null, "한강 야간"))).containsExactly(1L);
+		assertThat(ids(index.search(null, "run"))).containsExactly(2L);
+		assertThat(ids(index.search(null, "강"))).containsExactly(2L, 1L);
+		assertThat(ids(index.search(null, "부산"))).isEmpty();
+		assertThat(ids(index.search(null, ""))).containsExactly(2L, 3L, 1L);
+		assertThat(ids(index.search(GroupTag.QUICK, "한강"))).isEmpty();
+
+		index.removeAll(List.of(1L));
+		index.add(group(4L, "한강 주말 러닝", GroupTag.BEGINNER, 4));
+		assertThat(ids(index.search(null, "한강 러닝"))).containsExactly(4L);
+	}
+
+	private List<Long> ids(List<RunningDTO.RunningGroupViewResponse> groups) {
+		return groups.stream().map(RunningDTO.RunningGroupViewResponse::getGroupId).toList();
+	}
+
+	private RunningGroup group(Long groupId, String title, GroupTag groupTag, int startsInHours) {
+		return RunningGroup.builder()
+				.groupId(groupId)
+				.groupTitle(title)
+				.groupTag(groupTag)
+				.startTime(now.plusHours(startsInHours))
+				.endTime(now.plusHours(startsInHours + 1))
+				.targetDistance(5000L)
+				.maxParticipants(10)
+				.currentParticipants(0)
+				.activate(true)
+				.build();
+	}
+}
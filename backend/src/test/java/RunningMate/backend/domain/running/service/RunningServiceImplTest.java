@@ -0,0 +1,160 @@
+package RunningMate.backend.domain.running.service;
+
+import RunningMate.backend.domain.running.dto.RunningDTO;
+import RunningMate.backend.domain.running.entity.GroupTag;
+import RunningMate.backend.domain.running.entity.LeaderBoard;
+import RunningMate.backend.domain.running.entity.Record;
+import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.running.expiry.GroupExpiryScheduler;
+import RunningMate.backend.domain.running.leaderboard.LeaderBoardStreamPublisher;
+import RunningMate.backend.domain.running.leaderboard.LiveLeaderBoard;
+import RunningMate.backend.domain.running.leaderboard.LiveLeaderBoardManager;
+import RunningMate.backend.domain.running.leaderboard.RankedRunner;
+import RunningMate.backend.domain.running.progress.RecordProgressBuffer;
+import RunningMate.backend.domain.running.quick.QuickRunningGroupCache;
+import RunningMate.backend.domain.running.quick.QuickRunningGroupRollover;
+import RunningMate.backend.domain.running.repository.LeaderBoardRepository;
+import RunningMate.backend.domain.running.repository.RecordRepository;
+import RunningMate.backend.domain.running.repository.RunningGroupRepository;
+import RunningMate.backend.domain.running.search.GroupSearchIndex;
+import RunningMate.backend.domain.user.entity.User;
+import RunningMate.backend.domain.user.entity.UserStats;
+import RunningMate.backend.domain.user.service.UserStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RunningServiceImplTest {
+	private static final Long GROUP_ID = 3L;
+
+	private final LeaderBoardRepository leaderBoardRepository = mock(LeaderBoardRepository.class);
+	private final RecordRepository recordRepository = mock(RecordRepository.class);
+	private final LiveLeaderBoardManager liveLeaderBoardManager = mock(LiveLeaderBoardManager.class);
+	private final UserStatsService userStatsService = mock(UserStatsService.class);
+	private final RunningServiceImpl runningService = new RunningServiceImpl(mock(RunningGroupRepository.class), leaderBoardRepository,
+			recordRepository, liveLeaderBoardManager, mock(RecordProgressBuffer.class), mock(LeaderBoardStreamPublisher.class),
+			userStatsService, mock(GroupExpiryScheduler.class), mock(QuickRunningGroupRollover.class), mock(QuickRunningGroupCache.class),
+			mock(GroupSearchIndex.class), mock(ApplicationEventPublisher.class));
+
+	// DB 에는 slow 가 1등으로 남아 있지만 거리는 fast 가 앞선다 (순위 반영 전에 서버가 재시작된 경우)
+	private final User slowUser = user(1L, "slow");
+	private final User fastUser = user(2L, "fast");
+	private final Record slow = record(10L, slowUser, 100L);
+	private final Record fast = record(20L, fastUser, 500L);
+
+	@Test
+	void ttsForRunningGroupNotInMemoryRanksByDistance() {
+		LeaderBoard leaderBoard = stale(group(true));
+		when(userStatsService.findStats(slowUser.getUserId())).thenReturn(UserStats.builder().bestDistance(1000L).build());
+
+		String message = runningService.generateTTSMessage(slow.getRecordId(), Optional.of(slowUser));
+
+		assertThat(message).isEqualTo("현재 2등 입니다. 1등과는 400미터 차이입니다.");
+		verify(liveLeaderBoardManager).attach(leaderBoard);
+		verify(leaderBoardRepository, never()).findWindowByRecordId(anyLong(), anyLong());
+	}
+
+	@Test
+	void leaderboardForRunningGroupNotInMemoryRanksByDistance() {
+		stale(group(true));
+
+		List<RunningDTO.LeaderboardResponse> leaderboard = runningService.leaderboard(slow.getRecordId(), Optional.of(slowUser));
+
+		assertThat(leaderboard).extracting(RunningDTO.LeaderboardResponse::getUserNickname).containsExactly("fast", "slow", "-");
+		assertThat(leaderboard.get(1).isYourRecord()).isTrue();
+		verify(leaderBoardRepository, never()).findAllByGroupOrderByCurrentRankingAsc(any());
+	}
+
+	@Test
+	void ttsForFinishedGroupUsesFinalRanking() {
+		stale(group(false));
+		when(leaderBoardRepository.findWindowByRecordId(slow.getRecordId(), 2L)).thenReturn(List.of(
+				new RankedRunner(slow.getRecordId(), slowUser.getUserId(), "slow", 100L, 1L),
+				new RankedRunner(fast.getRecordId(), fastUser.getUserId(), "fast", 500L, 2L)));
+		when(userStatsService.findStats(slowUser.getUserId())).thenReturn(UserStats.builder().bestDistance(1000L).build());
+
+		String message = runningService.generateTTSMessage(slow.getRecordId(), Optional.of(slowUser));
+
+		// 종료된 방은 메모리에 올리지 않고 종료 때 반영된 순위를 그대로 쓴다
+		assertThat(message).startsWith("현재 1등으로 선두입니다.");
+		verify(liveLeaderBoardManager, never()).attach(any());
+	}
+
+	// slow 의 기록은 메모리에 없고, attach 하면 DB 거리로 순위표를 새로 만든다
+	private LeaderBoard stale(RunningGroup group) {
+		LeaderBoard slowBoard = leaderBoard(100L, group, slow, 1L);
+		LeaderBoard fastBoard = leaderBoard(200L, group, fast, 2L);
+		LiveLeaderBoard board = new LiveLeaderBoard(GROUP_ID);
+		for (LeaderBoard leaderBoard : List.of(slowBoard, fastBoard)) {
+			Record record = leaderBoard.getRecord();
+			board.join(leaderBoard.getBoardId(), record.getRecordId(), record.getUser().getUserId(), record.getUser().getUserNickname(),
+					record.getDistance(), leaderBoard.getCurrentRanking(), leaderBoard.getPreRanking());
+		}
+
+		when(liveLeaderBoardManager.findByRecordId(slow.getRecordId())).thenReturn(Optional.empty());
+		when(recordRepository.findRecordByRecordId(slow.getRecordId())).thenReturn(slow);
+		when(leaderBoardRepository.findLeaderBoardByRecord(slow)).thenReturn(slowBoard);
+		when(leaderBoardRepository.findAllByGroupOrderByCurrentRankingAsc(group)).thenReturn(List.of(slowBoard, fastBoard));
+		when(liveLeaderBoardManager.attach(slowBoard)).thenReturn(board);
+		return slowBoard;
+	}
+
+	private RunningGroup group(boolean activate) {
+		return RunningGroup.builder()
+				.groupId(GROUP_ID)
+				.groupTitle("재시작")
+				.groupTag(GroupTag.BEGINNER)
+				.startTime(LocalDateTime.now())
+				.endTime(LocalDateTime.now().plusHours(1))
+				.targetDistance(5000L)
+				.maxParticipants(10)
+				.currentParticipants(2)
+				.activate(activate)
+				.build();
+	}
+
+	private LeaderBoard leaderBoard(Long boardId, RunningGroup group, Record record, Long ranking) {
+		return LeaderBoard.builder()
+				.boardId(boardId)
+				.group(group)
+				.record(record)
+				.currentRanking(ranking)
+				.preRanking(ranking)
+				.build();
+	}
+
+	private Record record(Long recordId, User user, Long distance) {
+		return Record.builder()
+				.recordId(recordId)
+				.user(user)
+				.runningStartTime(LocalDate.now())
+				.runningTime(Duration.ofMinutes(1))
+				.calories(0.0)
+				.distance(distance)
+				.build();
+	}
+
+	private User user(Long userId, String nickname) {
+		return User.builder()
+				.userId(userId)
+				.userNickname(nickname)
+				.userEmail(nickname + "@test.com")
+				.userPassword("password")
+				.userWeight(60L)
+				.userHeight(170L)
+				.build();
+	}
+}
@@ -0,0 +1,85 @@
+package RunningMate.backend.domain.user.service;
+
+import RunningMate.backend.domain.authorization.SessionUserCache;
+import RunningMate.backend.domain.community.repository.PostRepository;
+import RunningMate.backend.domain.running.repository.RecordRepository;
+import RunningMate.backend.domain.user.dto.DailyTotal;
+import RunningMate.backend.domain.user.dto.RecordRange;
+import RunningMate.backend.domain.user.dto.UserDTO;
+import RunningMate.backend.domain.user.entity.User;
+import RunningMate.backend.domain.user.repository.UserDailyStatsRepository;
+import RunningMate.backend.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+	private static final Long USER_ID = 7L;
+
+	private final RecordRepository recordRepository = mock(RecordRepository.class);
+	private final UserDailyStatsRepository userDailyStatsRepository = mock(UserDailyStatsRepository.class);
+	private final UserStatsService userStatsService = mock(UserStatsService.class);
+	private final UserServiceImpl userService = new UserServiceImpl(mock(UserRepository.class), recordRepository,
+			userDailyStatsRepository, userStatsService, mock(PostRepository.class), mock(SessionUserCache.class));
+
+	@Test
+	void weekChartMergesDailyStatsWithRunningRecords() {
+		LocalDate today = LocalDate.now();
+		LocalDate yesterday = today.minusDays(1);
+		LocalDate startDate = today.minusDays(6);
+		when(userDailyStatsRepository.findDailyTotals(USER_ID, startDate, today))
+				.thenReturn(List.of(new DailyTotal(yesterday, 3000L, 200.0)));
+		when(recordRepository.findPendingDailyTotals(USER_ID, startDate, today))
+				.thenReturn(List.of(new DailyTotal(yesterday, 500L, 30.0), new DailyTotal(today, 1000L, 50.0)));
+
+		List<UserDTO.MyRecordResponse> chart = userService.viewMyRecord(Optional.of(user()), RecordRange.WEEK);
+
+		verify(userStatsService).findStats(USER_ID);
+		assertThat(chart).hasSize(7);
+		assertThat(chart.get(0).getRecordDate()).isEqualTo(startDate.atStartOfDay());
+		assertThat(chart.get(5).getDailyDistance()).isCloseTo(3.5, within(1e-9));
+		assertThat(chart.get(6).getDailyDistance()).isCloseTo(1.0, within(1e-9));
+		assertThat(chart.get(6).getWeekDistance()).isCloseTo(4.5, within(1e-9));
+		assertThat(chart.get(6).getWeekCalories()).isCloseTo(280.0, within(1e-9));
+	}
+
+	@Test
+	void yearChartGroupsDaysByMonth() {
+		LocalDate today = LocalDate.now();
+		LocalDate thisMonth = today.withDayOfMonth(1);
+		LocalDate startDate = thisMonth.minusMonths(11);
+		when(userDailyStatsRepository.findDailyTotals(USER_ID, startDate, today))
+				.thenReturn(List.of(new DailyTotal(startDate.plusDays(3), 2000L, 100.0),
+						new DailyTotal(startDate.plusDays(10), 4000L, 150.0),
+						new DailyTotal(thisMonth, 1000L, 40.0)));
+		when(recordRepository.findPendingDailyTotals(USER_ID, startDate, today)).thenReturn(List.of());
+
+		List<UserDTO.MyRecordResponse> chart = userService.viewMyRecord(Optional.of(user()), RecordRange.YEAR);
+
+		assertThat(chart).hasSize(12);
+		assertThat(chart).extracting(UserDTO.MyRecordResponse::getRecordDate)
+				.allSatisfy(recordDate -> assertThat(recordDate.getDayOfMonth()).isEqualTo(1));
+		assertThat(chart.get(0).getDailyDistance()).isCloseTo(6.0, within(1e-9));
+		assertThat(chart.get(11).getDailyDistance()).isCloseTo(1.0, within(1e-9));
+		assertThat(chart.get(11).getWeekCalories()).isCloseTo(290.0, within(1e-9));
+	}
+
+	private User user() {
+		return User.builder()
+				.userId(USER_ID)
+				.userNickname("runner")
+				.userEmail("runner@test.com")
+				.userPassword("password")
+				.userWeight(60L)
+				.userHeight(170L)
+				.build();
+	}
+}
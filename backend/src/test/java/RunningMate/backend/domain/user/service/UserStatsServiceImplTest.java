@@ -0,0 +1,185 @@
+package RunningMate.backend.domain.user.service;
+
+import RunningMate.backend.domain.running.entity.GroupTag;
+import RunningMate.backend.domain.running.entity.LeaderBoard;
+import RunningMate.backend.domain.running.entity.Record;
+import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.running.repository.LeaderBoardRepository;
+import RunningMate.backend.domain.running.repository.RecordRepository;
+import RunningMate.backend.domain.running.repository.RunningGroupRepository;
+import RunningMate.backend.domain.user.entity.User;
+import RunningMate.backend.domain.user.entity.UserDailyStats;
+import RunningMate.backend.domain.user.entity.UserStats;
+import RunningMate.backend.domain.user.repository.UserDailyStatsRepository;
+import RunningMate.backend.domain.user.repository.UserRepository;
+import RunningMate.backend.domain.user.repository.UserStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:stats;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+		"spring.jpa.hibernate.ddl-auto=create-drop"})
+@Import(UserStatsServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 서비스가 자기 트랜잭션으로 커밋한 결과를 다시 읽는다
+class UserStatsServiceImplTest {
+	private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+	@Autowired
+	private UserStatsService userStatsService;
+	@Autowired
+	private UserStatsRepository userStatsRepository;
+	@Autowired
+	private UserDailyStatsRepository userDailyStatsRepository;
+	@Autowired
+	private RecordRepository recordRepository;
+	@Autowired
+	private LeaderBoardRepository leaderBoardRepository;
+	@Autowired
+	private RunningGroupRepository groupRepository;
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void finishedGroupsAreAddedOnceAndRolledUpByDay() {
+		User user = user("daily");
+		RunningGroup morning = group(true);
+		RunningGroup evening = group(true);
+		run(user, morning, DAY, 3000L, Duration.ofMinutes(18));
+		run(user, evening, DAY, 2000L, Duration.ofMinutes(10));
+		assertThat(userStatsService.findStats(user.getUserId()).getRunCount()).isZero(); // 진행 중인 기록은 채우지 않는다
+		groupRepository.deactivateAllByGroupIdIn(List.of(morning.getGroupId(), evening.getGroupId()));
+
+		userStatsService.applyFinishedGroup(morning.getGroupId());
+		userStatsService.applyFinishedGroup(evening.getGroupId());
+		userStatsService.applyFinishedGroup(morning.getGroupId());
+
+		UserStats stats = userStatsRepository.findById(user.getUserId()).orElseThrow();
+		assertThat(stats.getRunCount()).isEqualTo(2L);
+		assertThat(stats.getTotalDistance()).isEqualTo(5000L);
+		assertThat(stats.getBestDistance()).isEqualTo(3000L);
+		assertThat(stats.getTotalRunningTime()).isEqualTo(Duration.ofMinutes(28));
+		assertThat(stats.getBestPace()).isEqualTo(300L);
+
+		List<UserDailyStats> daily = dailyStats(user);
+		assertThat(daily).hasSize(1);
+		assertThat(daily.get(0).getStatDate()).isEqualTo(DAY);
+		assertThat(daily.get(0).getDistance()).isEqualTo(5000L);
+		assertThat(daily.get(0).getRunCount()).isEqualTo(2L);
+	}
+
+	@Test
+	void firstLookupBackfillsOnlyFinishedRecords() {
+		User user = user("backfill");
+		Record finished = run(user, group(false), DAY, 4000L, Duration.ofMinutes(20));
+		Record running = run(user, group(true), DAY.plusDays(1), 1000L, Duration.ofMinutes(6));
+
+		UserStats stats = userStatsService.findStats(user.getUserId());
+
+		assertThat(stats.getRunCount()).isEqualTo(1L);
+		assertThat(stats.getBestDistance()).isEqualTo(4000L);
+		assertThat(recordRepository.findById(finished.getRecordId()).orElseThrow().getStatsApplied()).isTrue();
+		assertThat(recordRepository.findById(running.getRecordId()).orElseThrow().getStatsApplied()).isFalse();
+		assertThat(userStatsService.findStats(user.getUserId()).getRunCount()).isEqualTo(1L);
+	}
+
+	@Test
+	void concurrentFirstLookupsCreateOneRowAndApplyOnce() throws Exception {
+		User user = user("concurrent");
+		run(user, group(false), DAY, 5000L, Duration.ofMinutes(25));
+
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<CompletableFuture<UserStats>> lookups = IntStream.range(0, 4)
+					.mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+						await(start);
+						return userStatsService.findStats(user.getUserId());
+					}, executor))
+					.toList();
+			start.countDown();
+			for (CompletableFuture<UserStats> lookup : lookups)
+				lookup.get();
+		} finally {
+			executor.shutdownNow();
+		}
+
+		UserStats stats = userStatsRepository.findById(user.getUserId()).orElseThrow();
+		assertThat(stats.getRunCount()).isEqualTo(1L);
+		assertThat(stats.getTotalDistance()).isEqualTo(5000L);
+		assertThat(dailyStats(user)).singleElement().extracting(UserDailyStats::getRunCount).isEqualTo(1L);
+	}
+
+	private List<UserDailyStats> dailyStats(User user) {
+		return userDailyStatsRepository.findAll().stream()
+				.filter(daily -> daily.getUserId().equals(user.getUserId()))
+				.toList();
+	}
+
+	private User user(String nickname) {
+		return userRepository.save(User.builder()
+				.userNickname(nickname)
+				.userEmail(nickname + "@test.com")
+				.userPassword("password")
+				.userWeight(60L)
+				.userHeight(170L)
+				.build());
+	}
+
+	private RunningGroup group(boolean activate) {
+		return groupRepository.save(RunningGroup.builder()
+				.groupTitle("통계")
+				.groupTag(GroupTag.BEGINNER)
+				.startTime(LocalDateTime.now())
+				.endTime(LocalDateTime.now().plusHours(1))
+				.targetDistance(5000L)
+				.maxParticipants(10)
+				.currentParticipants(1)
+				.activate(activate)
+				.build());
+	}
+
+	private Record run(User user, RunningGroup group, LocalDate day, Long distance, Duration runningTime) {
+		Record record = recordRepository.save(Record.builder()
+				.user(user)
+				.runningStartTime(day)
+				.runningTime(runningTime)
+				.calories(100.0)
+				.distance(distance)
+				.build());
+		leaderBoardRepository.save(LeaderBoard.builder()
+				.group(group)
+				.record(record)
+				.currentRanking(1L)
+				.preRanking(1L)
+				.build());
+		return record;
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
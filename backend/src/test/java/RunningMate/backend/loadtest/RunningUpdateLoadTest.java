@@ -0,0 +1,212 @@
+package RunningMate.backend.loadtest;
+
+import RunningMate.backend.domain.running.entity.GroupTag;
+import RunningMate.backend.domain.running.entity.LeaderBoard;
+import RunningMate.backend.domain.running.entity.Record;
+import RunningMate.backend.domain.running.entity.RunningGroup;
+import RunningMate.backend.domain.running.repository.LeaderBoardRepository;
+import RunningMate.backend.domain.running.repository.RecordRepository;
+import RunningMate.backend.domain.running.repository.RunningGroupRepository;
+import RunningMate.backend.domain.user.entity.User;
+import RunningMate.backend.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// /running/update 부하 테스트. 같은 조건에서 플랫폼 스레드와 가상 스레드 모드의 처리량을 비교한다.
+// gradle test 에서는 빠지고 gradle loadTest 로만 돈다. 모드마다 서버를 따로 띄워 RUNNERS 명이 한 방에서 달리고,
+// CONCURRENCY 개의 클라이언트가 DURATION 동안 쉬지 않고 갱신을 보낸 뒤 초당 요청 수와 p50/p95 를 출력한다.
+//   gradle loadTest -Dload.concurrency=400 -Dload.duration=PT1M
+// DB 는 인메모리 H2 라서 절대 수치보다 두 모드의 차이를 본다. 실제 MySQL 에서는 서버를 두 모드로 띄우고 loadtest/running-update.js (k6) 를 쓴다.
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:load;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+		"spring.jpa.hibernate.ddl-auto=create", // 종료 시 남은 순위/기록 반영이 테이블 삭제 뒤로 밀리지 않게 한다
+		"cloud.aws.credentials.access-key=load",
+		"cloud.aws.credentials.secret-key=load",
+		"cloud.aws.region.static=ap-northeast-2",
+		"cloud.aws.s3.bucket=load",
+		"cloud.aws.stack.auto=false",
+		"running.single-instance.enabled=false", // 두 모드의 서버가 같은 JVM 에 함께 떠 있다
+		"logging.level.root=warn"})
+abstract class RunningUpdateLoadTest {
+	private static final int RUNNERS = Integer.getInteger("load.runners", 50);
+	private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+	private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+	private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+
+	@LocalServerPort
+	private int port;
+	@Value("${spring.threads.virtual.enabled}")
+	private boolean virtual;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private RecordRepository recordRepository;
+	@Autowired
+	private LeaderBoardRepository leaderBoardRepository;
+	@Autowired
+	private RunningGroupRepository groupRepository;
+
+	@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+	static class PlatformThreads extends RunningUpdateLoadTest {
+	}
+
+	@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+	static class VirtualThreads extends RunningUpdateLoadTest {
+	}
+
+	@Test
+	void runningUpdate() throws Exception {
+		List<Runner> runners = runners();
+
+		run(runners, WARMUP);
+		Result result = run(runners, DURATION);
+
+		System.out.printf("[load] %s threads : runners=%d concurrency=%d duration=%ss requests=%d failed=%d rps=%.1f p50=%.1fms p95=%.1fms p99=%.1fms%n",
+				virtual ? "virtual" : "platform", RUNNERS, CONCURRENCY, DURATION.toSeconds(), result.requests(), result.failed(),
+				result.requests() / (double) DURATION.toSeconds(), result.percentile(50), result.percentile(95), result.percentile(99));
+		assertThat(result.failed()).isLessThan(Math.max(1, result.requests() / 100));
+	}
+
+	private Result run(List<Runner> runners, Duration duration) throws Exception {
+		long deadline = System.nanoTime() + duration.toNanos();
+		AtomicLong failed = new AtomicLong();
+		List<Future<long[]>> workers = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < CONCURRENCY; i++) {
+				Runner runner = runners.get(i % runners.size());
+				workers.add(executor.submit(() -> {
+					long[] latencies = new long[1 << 16];
+					int count = 0;
+					while (System.nanoTime() < deadline) {
+						long start = System.nanoTime();
+						if (!runner.update())
+							failed.incrementAndGet();
+						if (count == latencies.length)
+							latencies = Arrays.copyOf(latencies, count * 2);
+						latencies[count++] = System.nanoTime() - start;
+					}
+					return Arrays.copyOf(latencies, count);
+				}));
+			}
+			long[] all = new long[0];
+			for (Future<long[]> worker : workers) {
+				long[] latencies = worker.get();
+				int from = all.length;
+				all = Arrays.copyOf(all, from + latencies.length);
+				System.arraycopy(latencies, 0, all, from, latencies.length);
+			}
+			Arrays.sort(all);
+			return new Result(all, failed.get());
+		}
+	}
+
+	// 러닝방 하나에 RUNNERS 명을 참가시키고 각자 로그인한 세션을 만든다
+	private List<Runner> runners() throws Exception {
+		RunningGroup group = groupRepository.save(RunningGroup.builder()
+				.groupTitle("부하 테스트")
+				.groupTag(GroupTag.BEGINNER)
+				.startTime(LocalDateTime.now())
+				.endTime(LocalDateTime.now().plusHours(1))
+				.targetDistance(10000L)
+				.maxParticipants(RUNNERS)
+				.currentParticipants(RUNNERS)
+				.activate(true)
+				.build());
+
+		List<Runner> runners = new ArrayList<>();
+		for (int i = 0; i < RUNNERS; i++) {
+			String email = "load" + i + "@test.com";
+			HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+			post(client, "/user/signup", "{\"userNickname\":\"load" + i + "\",\"userEmail\":\"" + email +
+					"\",\"userPassword\":\"password\",\"userWeight\":60,\"userHeight\":170}");
+			post(client, "/user/login", "{\"userEmail\":\"" + email + "\",\"userPassword\":\"password\"}");
+
+			User user = userRepository.findUserByUserEmail(email).orElseThrow();
+			Record record = recordRepository.save(Record.builder()
+					.user(user)
+					.runningStartTime(LocalDate.now())
+					.runningTime(Duration.ZERO)
+					.calories(0.0)
+					.distance(0L)
+					.build());
+			leaderBoardRepository.save(LeaderBoard.builder()
+					.group(group)
+					.record(record)
+					.currentRanking((long) i + 1)
+					.preRanking((long) i + 1)
+					.build());
+			runners.add(new Runner(client, record.getRecordId()));
+		}
+		return runners;
+	}
+
+	private HttpResponse<String> post(HttpClient client, String path, String body) throws Exception {
+		HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build(), HttpResponse.BodyHandlers.ofString());
+		assertThat(response.statusCode()).as(path).isEqualTo(200);
+		return response;
+	}
+
+	private class Runner {
+		private final HttpClient client;
+		private final Long recordId;
+		private final AtomicLong distance = new AtomicLong();
+
+		private Runner(HttpClient client, Long recordId) {
+			this.client = client;
+			this.recordId = recordId;
+		}
+
+		private boolean update() {
+			long next = distance.addAndGet(5);
+			try {
+				return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/running/update"))
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString("{\"recordId\":" + recordId + ",\"runningTime\":\"PT" + next / 3 +
+								"S\",\"calories\":" + next / 20 + ",\"distance\":" + next + "}"))
+						.build(), HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+			} catch (Exception e) {
+				return false;
+			}
+		}
+	}
+
+	private record Result(long[] latencies, long failed) {
+		private long requests() {
+			return latencies.length;
+		}
+
+		private double percentile(int percentile) {
+			if (latencies.length == 0)
+				return 0;
+			int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+			return latencies[Math.max(0, index)] / 1_000_000.0;
+		}
+	}
+}